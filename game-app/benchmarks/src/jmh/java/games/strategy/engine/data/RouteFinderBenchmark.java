@@ -0,0 +1,44 @@
+package games.strategy.engine.data;
+
+import games.strategy.triplea.delegate.Matches;
+import java.util.Optional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.triplea.benchmarks.BenchmarkGames;
+
+/** Benchmarks finding long land and sea routes across the map of revised. */
+@State(Scope.Benchmark)
+public class RouteFinderBenchmark {
+  private GameMap map;
+  private Territory westernEurope;
+  private Territory buryatia;
+  private Territory seaZone1;
+  private Territory seaZone62;
+
+  @Setup
+  public void setUp() {
+    final GameData data = BenchmarkGames.load(BenchmarkGames.REVISED);
+    map = data.getMap();
+    westernEurope = BenchmarkGames.getTerritory(data, "Western Europe");
+    buryatia = BenchmarkGames.getTerritory(data, "Buryatia S.S.R.");
+    seaZone1 = BenchmarkGames.getTerritory(data, "1 Sea Zone");
+    seaZone62 = BenchmarkGames.getTerritory(data, "62 Sea Zone");
+  }
+
+  @Benchmark
+  public Optional<Route> landRoute() {
+    return map.getRoute(westernEurope, buryatia, Matches.territoryIsLand());
+  }
+
+  @Benchmark
+  public Optional<Route> seaRoute() {
+    return map.getRoute(seaZone1, seaZone62, Matches.territoryIsWater());
+  }
+
+  @Benchmark
+  public Optional<Route> unrestrictedRoute() {
+    return map.getRoute(westernEurope, seaZone62, territory -> true);
+  }
+}
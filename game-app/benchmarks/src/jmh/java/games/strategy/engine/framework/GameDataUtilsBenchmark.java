@@ -0,0 +1,34 @@
+package games.strategy.engine.framework;
+
+import games.strategy.engine.data.GameData;
+import java.util.Optional;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.triplea.benchmarks.BenchmarkGames;
+
+/** Benchmarks the serialization round trip that copies game data, e.g. for battle calculators. */
+@State(Scope.Benchmark)
+public class GameDataUtilsBenchmark {
+  @Param({BenchmarkGames.REVISED, BenchmarkGames.WW2V3_1942})
+  private String xmlName;
+
+  private GameData data;
+
+  @Setup
+  public void setUp() {
+    data = BenchmarkGames.load(xmlName);
+  }
+
+  @Benchmark
+  public Optional<GameData> cloneGameData() {
+    return GameDataUtils.cloneGameData(data, GameDataManager.Options.withEverything());
+  }
+
+  @Benchmark
+  public Optional<GameData> cloneGameDataForBattleCalculator() {
+    return GameDataUtils.cloneGameData(data, GameDataManager.Options.forBattleCalculator());
+  }
+}
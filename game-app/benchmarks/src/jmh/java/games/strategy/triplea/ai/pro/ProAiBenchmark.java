@@ -0,0 +1,70 @@
+package games.strategy.triplea.ai.pro;
+
+import games.strategy.engine.framework.ServerGame;
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.triplea.benchmarks.BenchmarkGames;
+
+/**
+ * Benchmarks the purchase and the combat move phase of the hard AI playing the first Japanese turn
+ * of ww2v3 1942. Every invocation gets a new game that was played up to the benchmarked step.
+ */
+public class ProAiBenchmark {
+  private static final String PURCHASE_STEP = "japanesePurchase";
+  private static final String COMBAT_MOVE_STEP = "japaneseCombatMove";
+
+  /** A game that is about to run a given step. */
+  @State(Scope.Thread)
+  public abstract static class GameState {
+    ServerGame game;
+
+    @Setup(Level.Trial)
+    public void setUpHeadless() throws IOException {
+      BenchmarkGames.setUpHeadless();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+      game = BenchmarkGames.newGameWithAis(BenchmarkGames.WW2V3_1942);
+      BenchmarkGames.runStepsUntil(game, getStepName());
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+      game.stopGame();
+    }
+
+    abstract String getStepName();
+  }
+
+  /** A game that is about to run the Japanese purchase. */
+  public static class BeforePurchase extends GameState {
+    @Override
+    String getStepName() {
+      return PURCHASE_STEP;
+    }
+  }
+
+  /** A game that is about to run the Japanese combat move. */
+  public static class BeforeCombatMove extends GameState {
+    @Override
+    String getStepName() {
+      return COMBAT_MOVE_STEP;
+    }
+  }
+
+  @Benchmark
+  public void purchase(final BeforePurchase state) {
+    state.game.runNextStep();
+  }
+
+  @Benchmark
+  public void combatMove(final BeforeCombatMove state) {
+    state.game.runNextStep();
+  }
+}
@@ -0,0 +1,45 @@
+package games.strategy.triplea.delegate.move.validation;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.data.MoveDescription;
+import games.strategy.engine.data.Route;
+import games.strategy.engine.data.Territory;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.delegate.data.MoveValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.triplea.benchmarks.BenchmarkGames;
+
+/** Benchmarks validating a combat move of the German land units in Germany to Eastern Europe. */
+@State(Scope.Benchmark)
+public class MoveValidatorBenchmark {
+  private MoveValidator moveValidator;
+  private MoveDescription move;
+  private GamePlayer germans;
+
+  @Setup
+  public void setUp() {
+    final GameData data = BenchmarkGames.load(BenchmarkGames.REVISED);
+    germans = data.getPlayerList().getPlayerId("Germans");
+    final Territory germany = BenchmarkGames.getTerritory(data, "Germany");
+    final Territory easternEurope = BenchmarkGames.getTerritory(data, "Eastern Europe");
+    moveValidator = new MoveValidator(data, false);
+    move =
+        new MoveDescription(
+            germany
+                .getUnitCollection()
+                .getMatches(
+                    Matches.unitIsOwnedBy(germans)
+                        .and(Matches.unitIsLand())
+                        .and(Matches.unitIsNotInfrastructure())),
+            new Route(germany, easternEurope));
+  }
+
+  @Benchmark
+  public MoveValidationResult validateMove() {
+    return moveValidator.validateMove(move, germans);
+  }
+}
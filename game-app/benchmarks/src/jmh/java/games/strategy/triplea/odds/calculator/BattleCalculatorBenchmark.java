@@ -0,0 +1,85 @@
+package games.strategy.triplea.odds.calculator;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.triplea.benchmarks.BenchmarkGames;
+
+/**
+ * Benchmarks the simulation of a Russian attack on Germany with a single battle calculator worker
+ * and the creation of the workers of a concurrent battle calculator.
+ */
+@State(Scope.Benchmark)
+public class BattleCalculatorBenchmark {
+  @Param({"200"})
+  private int runCount;
+
+  private GameData data;
+  private GamePlayer russians;
+  private GamePlayer germans;
+  private Territory germany;
+  private Collection<Unit> attacking;
+  private Collection<Unit> defending;
+  private BattleCalculator battleCalculator;
+
+  @Setup
+  public void setUp() {
+    data = BenchmarkGames.load(BenchmarkGames.REVISED);
+    russians = data.getPlayerList().getPlayerId("Russians");
+    germans = data.getPlayerList().getPlayerId("Germans");
+    germany = BenchmarkGames.getTerritory(data, "Germany");
+    attacking = new ArrayList<>();
+    attacking.addAll(data.getUnitTypeList().getUnitTypeOrThrow("infantry").create(8, russians));
+    attacking.addAll(data.getUnitTypeList().getUnitTypeOrThrow("armour").create(4, russians));
+    attacking.addAll(data.getUnitTypeList().getUnitTypeOrThrow("fighter").create(3, russians));
+    attacking.addAll(data.getUnitTypeList().getUnitTypeOrThrow("bomber").create(1, russians));
+    defending = germany.getUnits();
+    battleCalculator = new BattleCalculator(data);
+  }
+
+  @Benchmark
+  public AggregateResults calculate() {
+    return battleCalculator.calculate(
+        russians,
+        germans,
+        germany,
+        attacking,
+        defending,
+        List.of(),
+        List.of(),
+        false,
+        runCount);
+  }
+
+  @Benchmark
+  public Boolean setGameData(final Workers workers) {
+    return workers.concurrentBattleCalculator.setGameData(data).join();
+  }
+
+  /**
+   * The concurrent battle calculator, without workers before every invocation. Otherwise setting
+   * the same game data again would only replay the changes since the previous invocation.
+   */
+  @State(Scope.Thread)
+  public static class Workers {
+    private final ConcurrentBattleCalculator concurrentBattleCalculator =
+        new ConcurrentBattleCalculator();
+
+    @Setup(Level.Invocation)
+    @TearDown
+    public void removeWorkers() {
+      concurrentBattleCalculator.setGameData(null).join();
+    }
+  }
+}
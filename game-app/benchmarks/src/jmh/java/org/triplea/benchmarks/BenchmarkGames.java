@@ -0,0 +1,101 @@
+package org.triplea.benchmarks;
+
+import com.google.common.base.Preconditions;
+import games.strategy.engine.ClientFileSystemHelper;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.gameparser.GameParser;
+import games.strategy.engine.framework.GameRunner;
+import games.strategy.engine.framework.ServerGame;
+import games.strategy.engine.framework.startup.ui.PlayerTypes;
+import games.strategy.engine.player.Player;
+import games.strategy.net.LocalNoOpMessenger;
+import games.strategy.net.Messengers;
+import games.strategy.net.websocket.ClientNetworkBridge;
+import games.strategy.triplea.settings.ClientSetting;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.experimental.UtilityClass;
+import org.sonatype.goodies.prefs.memory.MemoryPreferences;
+import org.triplea.game.server.HeadlessLaunchAction;
+import org.triplea.io.FileUtils;
+
+/** Loads the bundled test maps of game-core for the benchmarks. */
+@UtilityClass
+public class BenchmarkGames {
+  public static final String REVISED = "revised_test.xml";
+  public static final String WW2V3_1942 = "ww2v3_1942_test.xml";
+
+  /** Parses the given test map xml. */
+  public static GameData load(final String xmlName) {
+    final URL xmlUrl = BenchmarkGames.class.getClassLoader().getResource(xmlName);
+    Preconditions.checkNotNull(xmlUrl, "Test map not found: " + xmlName);
+    final Path xmlPath;
+    try {
+      xmlPath = Path.of(xmlUrl.toURI());
+    } catch (final URISyntaxException e) {
+      throw new IllegalStateException("Invalid test map location: " + xmlUrl, e);
+    }
+    return GameParser.parse(xmlPath, false)
+        .orElseThrow(() -> new IllegalStateException("Error parsing file: " + xmlPath));
+  }
+
+  public static Territory getTerritory(final GameData data, final String name) {
+    return Optional.ofNullable(data.getMap().getTerritoryOrNull(name)).orElseThrow();
+  }
+
+  /** Prepares a headless environment in which AI players can play without pauses. */
+  public static void setUpHeadless() throws IOException {
+    HeadlessLaunchAction.setSkipMapResourceLoading(true);
+
+    ClientSetting.setPreferences(new MemoryPreferences());
+    ClientSetting.aiMovePauseDuration.setValue(0);
+    ClientSetting.aiCombatStepPauseDuration.setValue(0);
+
+    final Path tempRoot = FileUtils.newTempFolder();
+    FileUtils.writeToFile(tempRoot.resolve(".triplea-root"), "");
+    Files.createDirectory(tempRoot.resolve("assets"));
+    ClientFileSystemHelper.setCodeSourceFolder(tempRoot);
+    System.setProperty(GameRunner.TRIPLEA_HEADLESS, "true");
+  }
+
+  /**
+   * Creates a game of the given test map in which every player is a hard AI. The steps of the game
+   * have to be run by the caller, e.g. with {@link #runStepsUntil}.
+   */
+  public static ServerGame newGameWithAis(final String xmlName) {
+    final GameData gameData = load(xmlName);
+    final Map<String, PlayerTypes.Type> playerTypes = new HashMap<>();
+    for (final var player : gameData.getPlayerList().getPlayers()) {
+      playerTypes.put(player.getName(), PlayerTypes.PRO_AI);
+    }
+    final Set<Player> gamePlayers = gameData.getGameLoader().newPlayers(playerTypes);
+    // the headless server is only needed once the game ends or gets interrupted
+    final HeadlessLaunchAction launchAction = new HeadlessLaunchAction(null);
+    final ServerGame game =
+        new ServerGame(
+            gameData,
+            gamePlayers,
+            new HashMap<>(),
+            new Messengers(new LocalNoOpMessenger()),
+            ClientNetworkBridge.NO_OP_SENDER,
+            launchAction);
+    game.setDelegateAutosavesEnabled(false);
+    gameData.getGameLoader().startGame(game, gamePlayers, launchAction, null);
+    return game;
+  }
+
+  /** Runs the steps of the game until the step with the given name is the next one to run. */
+  public static void runStepsUntil(final ServerGame game, final String stepName) {
+    while (!game.getData().getSequence().getStep().getName().equals(stepName)) {
+      game.runNextStep();
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package games.strategy.engine.data;
 
+import games.strategy.triplea.attachments.RelationshipTypeAttachment;
 import games.strategy.triplea.attachments.TechAbilityAttachment;
 import games.strategy.triplea.attachments.TechAttachment;
 import java.util.Optional;
@@ -95,6 +96,8 @@ public class ChangeAttachmentChange extends Change {
       techAttachment.getData().getTechTracker().clearCache();
     } else if (attachment instanceof TechAbilityAttachment techAbilityAttachment) {
       techAbilityAttachment.getData().getTechTracker().clearCache();
+    } else if (attachment instanceof RelationshipTypeAttachment relationshipTypeAttachment) {
+      relationshipTypeAttachment.getData().getRelationshipTracker().clearCache();
     }
   }
 
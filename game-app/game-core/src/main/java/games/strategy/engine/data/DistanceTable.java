@@ -0,0 +1,57 @@
+package games.strategy.engine.data;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * The distances between all territories of a {@link TerritoryGraph} along routes whose territories,
+ * except the start, match a fixed condition. The distances from a start territory are computed by a
+ * single search when they are first needed and kept as one row of the table.
+ *
+ * <p>The table keeps at most {@link #MAX_CACHED_DISTANCES} distances, rows of further start
+ * territories are computed again for every request. As the condition may only depend on the static
+ * properties of a territory, the table stays valid as long as its graph does.
+ */
+final class DistanceTable {
+  // 8 MB per table, which holds every row for maps of up to 2048 territories
+  static final int MAX_CACHED_DISTANCES = 1 << 22;
+
+  private final TerritoryGraph graph;
+  private final Predicate<Territory> condition;
+  private final AtomicReferenceArray<short[]> rows;
+  private final int maxCachedRows;
+  private final AtomicInteger cachedRows = new AtomicInteger();
+
+  DistanceTable(final TerritoryGraph graph, final Predicate<Territory> condition) {
+    this.graph = graph;
+    this.condition = condition;
+    rows = new AtomicReferenceArray<>(graph.size());
+    maxCachedRows = Math.max(1, MAX_CACHED_DISTANCES / Math.max(1, graph.size()));
+  }
+
+  /**
+   * Returns the distance between the two territories or -1 if they are not connected by a route
+   * whose territories, except the start, match the condition.
+   */
+  int getDistance(final Territory start, final Territory end) {
+    if (start.equals(end)) {
+      return 0;
+    }
+    final int startId = graph.getExistingId(start);
+    final int endId = graph.getId(end);
+    return endId == -1 ? -1 : getRow(startId)[endId];
+  }
+
+  private short[] getRow(final int startId) {
+    final short[] row = rows.get(startId);
+    if (row != null) {
+      return row;
+    }
+    final short[] newRow = graph.getDistances(startId, condition);
+    if (cachedRows.get() < maxCachedRows && rows.compareAndSet(startId, null, newRow)) {
+      cachedRows.incrementAndGet();
+    }
+    return newRow;
+  }
+}
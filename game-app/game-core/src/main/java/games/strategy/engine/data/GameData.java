@@ -85,6 +85,8 @@ public class GameData implements Serializable, GameState {
   private transient List<TerritoryListener> territoryListeners = new CopyOnWriteArrayList<>();
 
   private transient List<GameDataChangeListener> dataChangeListeners = new CopyOnWriteArrayList<>();
+  // the number of changes performed on this instance, only changed while holding the write lock
+  private transient long changeCount;
   private transient Map<String, IDelegate> delegates = new HashMap<>();
   private final AllianceTracker alliances = new AllianceTracker();
   // Tracks current relationships between players, this is empty if relationships aren't used
@@ -555,15 +557,29 @@ public class GameData implements Serializable, GameState {
     sequence.setStepIndex(Math.max(0, Math.min(sequence.size() - 1, currentIndex - toSubtract)));
   }
 
+  /**
+   * Returns the number of changes performed on this instance so far. The listeners are notified
+   * after the lock is released, so while holding a lock, this tells which of the changes that
+   * listeners are notified of later on are already performed, see {@link
+   * GameDataChangeListener#gameDataChanged(Change, long)}.
+   */
+  public long getChangeCount() {
+    try (Unlocker ignored = acquireReadLock()) {
+      return changeCount;
+    }
+  }
+
   /** Executes a change and notifies listeners. */
   public void performChange(final Change change) {
     if (areChangesOnlyInSwingEventThread()) {
       Util.ensureOnEventDispatchThread();
     }
+    final long changeNumber;
     try (Unlocker ignored = acquireWriteLock()) {
       change.perform(this);
+      changeNumber = ++changeCount;
     }
-    dataChangeListeners.forEach(listener -> listener.gameDataChanged(change));
+    dataChangeListeners.forEach(listener -> listener.gameDataChanged(change, changeNumber));
     GameDataEvent.lookupEvent(change).ifPresent(this::fireGameDataEvent);
   }
 
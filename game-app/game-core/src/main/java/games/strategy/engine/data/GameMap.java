@@ -4,7 +4,6 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.annotations.VisibleForTesting;
-import games.strategy.engine.data.util.BreadthFirstSearch;
 import games.strategy.triplea.delegate.Matches;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -37,6 +36,8 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
   private final Map<Territory, Set<Territory>> connections = new HashMap<>();
   // for fast lookup based on the string name of the territory
   private final Map<String, Territory> territoryLookup = new HashMap<>();
+  // built on first use after the last change of the territories or connections
+  @Nullable private transient volatile TerritoryGraph graph;
 
   /**
    * Legacy option to support grid-based maps.
@@ -60,6 +61,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     territories.add(t1);
     connections.put(t1, Set.of());
     territoryLookup.put(t1.getName(), t1);
+    graph = null;
   }
 
   /** Bidirectional. T1 connects to T2, and T2 connects to T1. */
@@ -73,6 +75,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     }
     setConnection(t1, t2);
     setConnection(t2, t1);
+    graph = null;
   }
 
   private void setConnection(final Territory from, final Territory to) {
@@ -83,6 +86,15 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     connections.put(from, Collections.unmodifiableSet(modified));
   }
 
+  private TerritoryGraph getGraph() {
+    TerritoryGraph graph = this.graph;
+    if (graph == null) {
+      graph = new TerritoryGraph(territories, connections);
+      this.graph = graph;
+    }
+    return graph;
+  }
+
   /**
    * Case-sensitive search for {@link Territory} by name. *
    *
@@ -120,15 +132,10 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    */
   public Set<Territory> getNeighbors(
       final Territory territory, @Nullable final Predicate<Territory> territoryCondition) {
-    return getNeighbors(
-        territory, (it, it2) -> territoryCondition == null || territoryCondition.test(it2));
-  }
-
-  private Set<Territory> getNeighbors(
-      final Territory territory, final BiPredicate<Territory, Territory> routeCondition) {
-    return getNeighbors(territory).stream()
-        .filter(n -> routeCondition.test(territory, n))
-        .collect(Collectors.toSet());
+    if (territoryCondition == null) {
+      return new HashSet<>(getNeighbors(territory));
+    }
+    return getGraph().getNeighbors(territory, territoryCondition);
   }
 
   /**
@@ -178,14 +185,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (distance == 0) {
       return Set.of();
     }
-    final Set<Territory> neighbors = getNeighbors(territory, routeCondition);
-    if (distance == 1) {
-      return neighbors;
-    }
-    final Set<Territory> result =
-        getNeighbors(neighbors, new HashSet<>(neighbors), distance - 1, routeCondition);
-    result.remove(territory);
-    return result;
+    return getGraph().getNeighbors(List.of(territory), distance, routeCondition);
   }
 
   /**
@@ -197,29 +197,10 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
       final Set<Territory> frontier,
       final int distance,
       final Predicate<Territory> territoryCondition) {
-    final Set<Territory> neighbors =
-        getNeighbors(
-            frontier, new HashSet<>(frontier), distance, (it, it2) -> territoryCondition.test(it2));
-    neighbors.removeAll(frontier);
-    return neighbors;
-  }
-
-  private Set<Territory> getNeighbors(
-      final Set<Territory> frontier,
-      final Set<Territory> searched,
-      final int distance,
-      final BiPredicate<Territory, Territory> routeCondition) {
     if (distance == 0 || frontier.isEmpty()) {
-      return searched;
+      return new HashSet<>();
     }
-    final Set<Territory> newFrontier =
-        frontier.stream()
-            .map(t -> getNeighbors(t, routeCondition))
-            .flatMap(Collection::stream)
-            .filter(t -> !searched.contains(t))
-            .collect(Collectors.toSet());
-    searched.addAll(newFrontier);
-    return getNeighbors(newFrontier, searched, distance - 1, routeCondition);
+    return getGraph().getNeighbors(frontier, distance, (it, it2) -> territoryCondition.test(it2));
   }
 
   /**
@@ -235,37 +216,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (distance == 0) {
       return Set.of();
     }
-    final Set<Territory> neighbors = new HashSet<>(getNeighbors(territory));
-    if (distance == 1) {
-      return neighbors;
-    }
-    final Set<Territory> start = getNeighbors(territory, territoryCondition);
-    for (int i = 2; i <= distance; i++) {
-      neighbors.addAll(
-          getNeighborsIgnoreEnd(start, new HashSet<>(start), i - 1, territoryCondition));
-    }
-    neighbors.remove(territory);
-    return neighbors;
-  }
-
-  private Set<Territory> getNeighborsIgnoreEnd(
-      final Set<Territory> frontier,
-      final Set<Territory> searched,
-      final int distance,
-      @Nullable final Predicate<Territory> territoryCondition) {
-    if (distance == 0 || frontier.isEmpty()) {
-      return searched; // End condition for recursion
-    }
-    final Predicate<Territory> neighborCond =
-        (distance == 1) ? territory -> true : territoryCondition;
-    final Set<Territory> newFrontier =
-        frontier.stream()
-            .map(t -> getNeighbors(t, neighborCond))
-            .flatMap(Collection::stream)
-            .filter(t -> !searched.contains(t))
-            .collect(Collectors.toSet());
-    searched.addAll(newFrontier);
-    return getNeighborsIgnoreEnd(newFrontier, searched, distance - 1, territoryCondition);
+    return getGraph().getNeighborsIgnoreEnd(territory, distance, territoryCondition);
   }
 
   /**
@@ -284,18 +235,11 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (movementLeft.compareTo(BigDecimal.ZERO) == 0) {
       return new HashSet<>();
     }
-    final Set<Territory> neighbors = getNeighbors(territory, territoryCondition);
-    if (movementLeft.compareTo(BigDecimal.ONE) <= 0) {
-      return neighbors;
-    }
-    final Set<Territory> result =
-        getNeighbors(
-            neighbors,
-            new HashSet<>(neighbors),
-            movementLeft.intValue() - 1,
+    return getGraph()
+        .getNeighbors(
+            List.of(territory),
+            Math.max(1, movementLeft.intValue()),
             (it, it2) -> territoryCondition.test(it2));
-    result.remove(territory);
-    return result;
   }
 
   /**
@@ -382,7 +326,8 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @param t2 end territory of the route
    */
   public int getDistance(final Territory t1, final Territory t2) {
-    return getDistance(t1, t2, it -> true);
+    checkNotNull(t2);
+    return getGraph().getDistances().getDistance(t1, t2);
   }
 
   /**
@@ -411,9 +356,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (t1.equals(t2)) {
       return 0;
     }
-    var territoryFinder = BreadthFirstSearch.createTerritoryFinder(t2);
-    new BreadthFirstSearch(List.of(t1), routeCond).traverse(territoryFinder);
-    return territoryFinder.getDistanceFound();
+    return getGraph().getDistance(t1, t2, routeCond);
   }
 
   public IntegerMap<Territory> getDistance(
@@ -437,7 +380,8 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @param t2 end territory of the route
    */
   public int getLandDistance(final Territory t1, final Territory t2) {
-    return getDistance(t1, t2, Matches.territoryIsLand());
+    checkNotNull(t2);
+    return getGraph().getLandDistances().getDistance(t1, t2);
   }
 
   /**
@@ -447,7 +391,8 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    * @param t2 end territory of the route
    */
   public int getWaterDistance(final Territory t1, final Territory t2) {
-    return getDistance(t1, t2, Matches.territoryIsWater());
+    checkNotNull(t2);
+    return getGraph().getWaterDistances().getDistance(t1, t2);
   }
 
   /**
@@ -51,6 +51,15 @@ public class GameSequence extends GameDataComponent implements Iterable<GameStep
     }
   }
 
+  /**
+   * Moves to the step with the given index in the given round, e.g. to restore the position of a
+   * journaled saved game.
+   */
+  public synchronized void setRoundAndStepIndex(final int currentRound, final int stepIndex) {
+    setStepIndex(stepIndex);
+    round = currentRound - roundOffset;
+  }
+
   public void addStep(final GameStep step) {
     steps.add(step);
   }
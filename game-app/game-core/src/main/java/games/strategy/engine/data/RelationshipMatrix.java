@@ -0,0 +1,150 @@
+package games.strategy.engine.data;
+
+import games.strategy.engine.data.RelationshipTracker.RelatedPlayers;
+import games.strategy.engine.data.RelationshipTracker.Relationship;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.attachments.RelationshipTypeAttachment;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * A snapshot of the relationships of a {@link RelationshipTracker}, indexed by dense player
+ * indexes. It holds the relationship type and its archetype flags for every pair of players, and
+ * the allies and enemies of every player as bit sets, so that the frequent relationship queries
+ * neither allocate keys nor read attachments.
+ *
+ * <p>The snapshot doesn't notice changes, the tracker has to create a new one whenever a
+ * relationship or a relationship type attachment changes.
+ */
+final class RelationshipMatrix {
+  private static final byte ALLIED = 1;
+  private static final byte AT_WAR = 2;
+
+  private final GamePlayer[] players;
+  // the number of leading players that are part of the player list, i.e. all but the null player
+  private final int listedPlayerCount;
+  private final Map<GamePlayer, Integer> indexes;
+  private final RelationshipType[] relationshipTypes;
+  private final byte[] flags;
+  private final BitSet[] allies;
+  private final BitSet[] enemies;
+  // whether the matrix knows the relationships of a player with all players of the player list
+  private final boolean[] complete;
+
+  RelationshipMatrix(
+      final List<GamePlayer> players,
+      final GamePlayer nullPlayer,
+      final Map<RelatedPlayers, Relationship> relationships) {
+    final List<GamePlayer> allPlayers = new ArrayList<>(players);
+    allPlayers.add(nullPlayer);
+    this.players = allPlayers.toArray(GamePlayer[]::new);
+    listedPlayerCount = players.size();
+    final int size = this.players.length;
+    indexes = new HashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      indexes.putIfAbsent(this.players[i], i);
+    }
+    relationshipTypes = new RelationshipType[size * size];
+    flags = new byte[size * size];
+    allies = new BitSet[size];
+    enemies = new BitSet[size];
+    complete = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      complete[i] = true;
+      allies[i] = new BitSet(size);
+      enemies[i] = new BitSet(size);
+    }
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        final Relationship relationship =
+            relationships.get(new RelatedPlayers(this.players[i], this.players[j]));
+        // pairs the matrix doesn't know are left to the tracker, which reports the missing data
+        if (relationship == null) {
+          complete[i] &= j >= listedPlayerCount;
+          continue;
+        }
+        final RelationshipType relationshipType = relationship.getRelationshipType();
+        if (!(relationshipType.getAttachment(Constants.RELATIONSHIPTYPE_ATTACHMENT_NAME)
+            instanceof RelationshipTypeAttachment attachment)) {
+          complete[i] &= j >= listedPlayerCount;
+          continue;
+        }
+        relationshipTypes[i * size + j] = relationshipType;
+        if (attachment.isAllied()) {
+          flags[i * size + j] |= ALLIED;
+          allies[i].set(j);
+        }
+        if (attachment.isWar()) {
+          flags[i * size + j] |= AT_WAR;
+          enemies[i].set(j);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the relationship between the two players or -1 if the matrix doesn't know
+   * a relationship between them.
+   */
+  int getPairIndex(@Nullable final GamePlayer player1, @Nullable final GamePlayer player2) {
+    final int index1 = getIndex(player1);
+    final int index2 = getIndex(player2);
+    if (index1 == -1 || index2 == -1) {
+      return -1;
+    }
+    final int pairIndex = index1 * players.length + index2;
+    return relationshipTypes[pairIndex] == null ? -1 : pairIndex;
+  }
+
+  /** Returns the index of the given player or -1 if the matrix doesn't know the player. */
+  int getIndex(@Nullable final GamePlayer player) {
+    final Integer index = player == null ? null : indexes.get(player);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Indicates whether the matrix knows the relationships of the player with the index with all
+   * players of the player list, which {@link #getAllies(int)} and {@link #getEnemies(int)} require.
+   */
+  boolean isComplete(final int index) {
+    return complete[index];
+  }
+
+  RelationshipType getRelationshipType(final int pairIndex) {
+    return relationshipTypes[pairIndex];
+  }
+
+  boolean isAllied(final int pairIndex) {
+    return (flags[pairIndex] & ALLIED) != 0;
+  }
+
+  boolean isAtWar(final int pairIndex) {
+    return (flags[pairIndex] & AT_WAR) != 0;
+  }
+
+  /** Returns the players of the player list that are allied with the player with the index. */
+  Set<GamePlayer> getAllies(final int index) {
+    return getListedPlayers(allies[index]);
+  }
+
+  /** Returns the players of the player list that are at war with the player with the index. */
+  Set<GamePlayer> getEnemies(final int index) {
+    return getListedPlayers(enemies[index]);
+  }
+
+  private Set<GamePlayer> getListedPlayers(final BitSet indexes) {
+    final Set<GamePlayer> result = new HashSet<>();
+    for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+      if (i < listedPlayerCount) {
+        result.add(players[i]);
+      }
+    }
+    return result;
+  }
+}
@@ -10,6 +10,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.Getter;
 
 /**
@@ -21,6 +22,8 @@ public class RelationshipTracker extends GameDataComponent {
 
   // map of "playername:playername" to RelationshipType that exists between those 2 players
   private final Map<RelatedPlayers, Relationship> relationships = new HashMap<>();
+  // built on first use after the last change of the relationships or relationship types
+  @Nullable private transient volatile RelationshipMatrix matrix;
 
   public RelationshipTracker(final GameData data) {
     super(data);
@@ -36,7 +39,10 @@ public class RelationshipTracker extends GameDataComponent {
    */
   public void setRelationship(
       final GamePlayer p1, final GamePlayer p2, final RelationshipType relationshipType) {
-    relationships.put(new RelatedPlayers(p1, p2), new Relationship(relationshipType));
+    synchronized (this) {
+      relationships.put(new RelatedPlayers(p1, p2), new Relationship(relationshipType));
+      matrix = null;
+    }
   }
 
   /**
@@ -45,12 +51,45 @@ public class RelationshipTracker extends GameDataComponent {
    */
   public void setRelationship(
       final GamePlayer p1, final GamePlayer p2, final RelationshipType r, final int roundValue) {
-    relationships.put(new RelatedPlayers(p1, p2), new Relationship(r, roundValue));
+    synchronized (this) {
+      relationships.put(new RelatedPlayers(p1, p2), new Relationship(r, roundValue));
+      matrix = null;
+    }
+  }
+
+  /**
+   * Discards the cached relationship flags. Has to be called whenever a relationship type
+   * attachment changes.
+   */
+  public synchronized void clearCache() {
+    matrix = null;
+  }
+
+  private RelationshipMatrix getMatrix() {
+    RelationshipMatrix matrix = this.matrix;
+    if (matrix == null) {
+      synchronized (this) {
+        matrix = this.matrix;
+        if (matrix == null) {
+          matrix =
+              new RelationshipMatrix(
+                  getData().getPlayerList().getPlayers(),
+                  getData().getPlayerList().getNullPlayer(),
+                  relationships);
+          this.matrix = matrix;
+        }
+      }
+    }
+    return matrix;
   }
 
   public RelationshipType getRelationshipType(
       @Nonnull final GamePlayer p1, @Nonnull final GamePlayer p2) {
-    return getRelationship(p1, p2).getRelationshipType();
+    final RelationshipMatrix matrix = getMatrix();
+    final int pairIndex = matrix.getPairIndex(p1, p2);
+    return pairIndex == -1
+        ? getRelationship(p1, p2).getRelationshipType()
+        : matrix.getRelationshipType(pairIndex);
   }
 
   public RelationshipType getRelationshipType(final RelatedPlayers p1p2) {
@@ -87,25 +126,34 @@ public class RelationshipTracker extends GameDataComponent {
    * @param p2 second referring player
    */
   public boolean isAllied(final GamePlayer p1, final GamePlayer p2) {
-    return Matches.relationshipTypeIsAllied().test(getRelationshipType(p1, p2));
+    final RelationshipMatrix matrix = getMatrix();
+    final int pairIndex = matrix.getPairIndex(p1, p2);
+    return pairIndex == -1
+        ? Matches.relationshipTypeIsAllied().test(getRelationshipType(p1, p2))
+        : matrix.isAllied(pairIndex);
   }
 
   public boolean isAlliedWithAnyOfThesePlayers(
       final GamePlayer gamePlayer, final Collection<GamePlayer> possibleAllies) {
-    return possibleAllies.stream()
-        .anyMatch(
-            p2 -> Matches.relationshipTypeIsAllied().test(getRelationshipType(gamePlayer, p2)));
+    for (final GamePlayer p2 : possibleAllies) {
+      if (isAllied(gamePlayer, p2)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /** Gets the set of allied players for a given player. */
   public Set<GamePlayer> getAllies(final GamePlayer gamePlayer, final boolean includeSelf) {
+    final RelationshipMatrix matrix = getMatrix();
+    final int index = matrix.getIndex(gamePlayer);
+    // without the matrix, a missing relationship fails loudly like any other query of it
     final Set<GamePlayer> allies =
-        getData().getPlayerList().getPlayers().stream()
-            .filter(
-                player ->
-                    Matches.relationshipTypeIsAllied()
-                        .test(getRelationshipType(gamePlayer, player)))
-            .collect(Collectors.toSet());
+        index == -1 || !matrix.isComplete(index)
+            ? getData().getPlayerList().getPlayers().stream()
+                .filter(player -> isAllied(gamePlayer, player))
+                .collect(Collectors.toSet())
+            : matrix.getAllies(index);
     if (includeSelf) {
       allies.add(gamePlayer);
     } else {
@@ -116,21 +164,32 @@ public class RelationshipTracker extends GameDataComponent {
 
   /** returns true if p1 is at war with p2. */
   public boolean isAtWar(final GamePlayer p1, final GamePlayer p2) {
-    return Matches.relationshipTypeIsAtWar().test(getRelationshipType(p1, p2));
+    final RelationshipMatrix matrix = getMatrix();
+    final int pairIndex = matrix.getPairIndex(p1, p2);
+    return pairIndex == -1
+        ? Matches.relationshipTypeIsAtWar().test(getRelationshipType(p1, p2))
+        : matrix.isAtWar(pairIndex);
   }
 
   public boolean isAtWarWithAnyOfThesePlayers(
       final GamePlayer p1, final Collection<GamePlayer> p2s) {
-    return p2s.stream()
-        .anyMatch(p2 -> Matches.relationshipTypeIsAtWar().test(getRelationshipType(p1, p2)));
+    for (final GamePlayer p2 : p2s) {
+      if (isAtWar(p1, p2)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   public Set<GamePlayer> getEnemies(final GamePlayer p1) {
+    final RelationshipMatrix matrix = getMatrix();
+    final int index = matrix.getIndex(p1);
     final Set<GamePlayer> enemies =
-        getData().getPlayerList().getPlayers().stream()
-            .filter(
-                player -> Matches.relationshipTypeIsAtWar().test(getRelationshipType(p1, player)))
-            .collect(Collectors.toSet());
+        index == -1 || !matrix.isComplete(index)
+            ? getData().getPlayerList().getPlayers().stream()
+                .filter(player -> isAtWar(p1, player))
+                .collect(Collectors.toSet())
+            : matrix.getEnemies(index);
     enemies.remove(p1);
     return enemies;
   }
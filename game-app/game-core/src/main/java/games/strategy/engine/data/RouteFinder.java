@@ -5,14 +5,16 @@ import com.google.common.base.Preconditions;
 import games.strategy.triplea.delegate.TerritoryEffectHelper;
 import games.strategy.triplea.delegate.move.validation.MoveValidator;
 import java.math.BigDecimal;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 import java.util.function.Function;
@@ -24,7 +26,6 @@ import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 class RouteFinder {
-
   private final MoveValidator moveValidator;
   private final GameMap map;
   private final Predicate<Territory> condition;
@@ -46,55 +47,82 @@ class RouteFinder {
 
   Optional<Route> findRouteByDistance(
       final @Nonnull Territory start, final @Nonnull Territory end) {
-    return findRouteByCost(start, end, t -> BigDecimal.ONE);
+    return findRoute(start, end, t -> BigDecimal.ONE, BigDecimal.ONE);
   }
 
   Optional<Route> findRouteByCost(final @Nonnull Territory start, final @Nonnull Territory end) {
-    return findRouteByCost(start, end, this::getMaxMovementCost);
+    final BigDecimal minMovementCost =
+        units.isEmpty()
+            ? BigDecimal.ONE
+            : TerritoryEffectHelper.getMinMovementCost(
+                map.getData().getTerritoryEffectList().values(), units);
+    return findRoute(start, end, this::getMaxMovementCost, minMovementCost);
   }
 
-  private Optional<Route> findRouteByCost(
+  /**
+   * Finds the cheapest route with an A* search. Of several equally cheap routes the one through the
+   * fewest territories is found. The estimated remaining cost of a territory is its distance to the
+   * end, ignoring all conditions, times the lowest cost any territory can have. This never
+   * overestimates and never decreases by more than the cost of a step, so every territory has to be
+   * visited only once and the first route that reaches the end is the cheapest.
+   *
+   * @param minTerritoryCost the lowest cost of moving into any territory
+   */
+  private Optional<Route> findRoute(
       final Territory start,
       final Territory end,
-      final Function<Territory, BigDecimal> territoryCostFunction) {
+      final Function<Territory, BigDecimal> territoryCost,
+      final BigDecimal minTerritoryCost) {
     Preconditions.checkNotNull(start);
     Preconditions.checkNotNull(end);
 
     if (start.equals(end)) {
       return Optional.of(new Route(start));
     }
+    if (map.getDistance(start, end) == -1) {
+      return Optional.empty();
+    }
+    final BigDecimal minStepCost = minTerritoryCost.max(BigDecimal.ZERO);
 
     final Map<Territory, Territory> previous = new HashMap<>();
-    previous.put(start, null);
-    final Queue<Territory> toVisit = new ArrayDeque<>();
-    toVisit.add(start);
-    final Map<Territory, BigDecimal> routeCosts = new HashMap<>();
-    routeCosts.put(start, BigDecimal.ZERO);
-    BigDecimal minCost = new BigDecimal(Integer.MAX_VALUE);
+    final Map<Territory, Candidate> bestRoutes = new HashMap<>();
+    final Set<Territory> visited = new HashSet<>();
+    final Queue<Candidate> toVisit = new PriorityQueue<>();
+    final Candidate first = new Candidate(start, BigDecimal.ZERO, 0, BigDecimal.ZERO, 0);
+    bestRoutes.put(start, first);
+    toVisit.add(first);
+    long sequence = 1;
 
     while (!toVisit.isEmpty()) {
-      final Territory currentTerritory = toVisit.remove();
-      if (routeCosts.get(currentTerritory).compareTo(minCost) >= 0) {
+      final Candidate current = toVisit.remove();
+      if (current.territory().equals(end)) {
+        return Optional.of(getRoute(start, end, previous));
+      }
+      // a territory is queued again whenever a better route to it is found
+      if (!visited.add(current.territory())) {
         continue;
       }
       for (final Territory neighbor :
-          getNeighborsValidatingCanals(currentTerritory, condition, units, player)) {
-        final BigDecimal routeCost =
-            routeCosts.get(currentTerritory).add(territoryCostFunction.apply(neighbor));
-        if (!previous.containsKey(neighbor) || routeCost.compareTo(routeCosts.get(neighbor)) < 0) {
-          previous.put(neighbor, currentTerritory);
-          routeCosts.put(neighbor, routeCost);
-          if (neighbor.equals(end) && routeCost.compareTo(minCost) < 0) {
-            minCost = routeCost;
-            break;
-          }
-          toVisit.add(neighbor);
+          getNeighborsValidatingCanals(current.territory(), condition, units, player)) {
+        if (visited.contains(neighbor)) {
+          continue;
+        }
+        final BigDecimal routeCost = current.routeCost().add(territoryCost.apply(neighbor));
+        final int routeLength = current.routeLength() + 1;
+        final Candidate known = bestRoutes.get(neighbor);
+        if (known == null || known.isWorseThan(routeCost, routeLength)) {
+          previous.put(neighbor, current.territory());
+          // the map is undirected, so the distance from the end is the distance to it
+          final BigDecimal distanceToEnd = BigDecimal.valueOf(map.getDistance(end, neighbor));
+          final BigDecimal estimatedCost = routeCost.add(minStepCost.multiply(distanceToEnd));
+          final Candidate candidate =
+              new Candidate(neighbor, routeCost, routeLength, estimatedCost, sequence++);
+          bestRoutes.put(neighbor, candidate);
+          toVisit.add(candidate);
         }
       }
     }
-    return (minCost.compareTo(new BigDecimal(Integer.MAX_VALUE)) == 0)
-        ? Optional.empty()
-        : Optional.of(getRoute(start, end, previous));
+    return Optional.empty();
   }
 
   private Set<Territory> getNeighborsValidatingCanals(
@@ -130,4 +158,32 @@ class RouteFinder {
     Collections.reverse(territories);
     return new Route(territories);
   }
+
+  /**
+   * A territory to visit, ordered by the estimated cost of the cheapest route through it and then
+   * by the length of the route to it. The costs are compared exactly. Remaining ties are broken by
+   * the order the candidates were found in, to keep the search deterministic.
+   */
+  private record Candidate(
+      Territory territory,
+      BigDecimal routeCost,
+      int routeLength,
+      BigDecimal estimatedCost,
+      long sequence)
+      implements Comparable<Candidate> {
+    private static final Comparator<Candidate> ORDER =
+        Comparator.comparing(Candidate::estimatedCost)
+            .thenComparingInt(Candidate::routeLength)
+            .thenComparingLong(Candidate::sequence);
+
+    boolean isWorseThan(final BigDecimal otherRouteCost, final int otherRouteLength) {
+      final int result = routeCost.compareTo(otherRouteCost);
+      return result != 0 ? result > 0 : routeLength > otherRouteLength;
+    }
+
+    @Override
+    public int compareTo(final Candidate other) {
+      return ORDER.compare(this, other);
+    }
+  }
 }
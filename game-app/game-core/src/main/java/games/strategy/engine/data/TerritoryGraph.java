@@ -0,0 +1,300 @@
+package games.strategy.engine.data;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A frozen adjacency index of the territories of a {@link GameMap}. Every territory gets a dense
+ * id, its position in the territory list of the map, and the neighbor ids are stored in compressed
+ * sparse row layout: the neighbors of the territory with id {@code i} are {@code
+ * neighbors[offsets[i]]} up to {@code neighbors[offsets[i + 1] - 1]}.
+ *
+ * <p>The searches mark visited territories in bit sets that are reused by later searches of the
+ * same thread, so they don't allocate anything besides their result. The index doesn't notice
+ * changes of the map, a new index has to be created whenever territories or connections are added.
+ * The same goes for the {@link DistanceTable}s of the index, which are filled as they are used.
+ */
+final class TerritoryGraph {
+  private final Territory[] territories;
+  private final Map<Territory, Integer> ids;
+  private final int[] offsets;
+  private final int[] neighbors;
+  private final ThreadLocal<SearchState> searchStates;
+  private final DistanceTable distances;
+  private final DistanceTable landDistances;
+  private final DistanceTable waterDistances;
+
+  TerritoryGraph(
+      final List<Territory> territories, final Map<Territory, Set<Territory>> connections) {
+    this.territories = territories.toArray(Territory[]::new);
+    ids = new HashMap<>(territories.size() * 2);
+    for (int id = 0; id < this.territories.length; id++) {
+      ids.put(this.territories[id], id);
+    }
+    offsets = new int[this.territories.length + 1];
+    neighbors = new int[connections.values().stream().mapToInt(Set::size).sum()];
+    int offset = 0;
+    for (int id = 0; id < this.territories.length; id++) {
+      offsets[id] = offset;
+      for (final Territory neighbor : connections.get(this.territories[id])) {
+        neighbors[offset++] = ids.get(neighbor);
+      }
+    }
+    offsets[this.territories.length] = offset;
+    searchStates = ThreadLocal.withInitial(() -> new SearchState(this.territories.length));
+    distances = new DistanceTable(this, territory -> true);
+    landDistances = new DistanceTable(this, territory -> !territory.isWater());
+    waterDistances = new DistanceTable(this, Territory::isWater);
+  }
+
+  int size() {
+    return territories.length;
+  }
+
+  /** Returns the distances along routes of any territories. */
+  DistanceTable getDistances() {
+    return distances;
+  }
+
+  /** Returns the distances along routes of land territories. */
+  DistanceTable getLandDistances() {
+    return landDistances;
+  }
+
+  /** Returns the distances along routes of water territories. */
+  DistanceTable getWaterDistances() {
+    return waterDistances;
+  }
+
+  /** Returns the id of the given territory or -1 if it isn't part of the map. */
+  int getId(final Territory territory) {
+    final Integer id = ids.get(territory);
+    return id == null ? -1 : id;
+  }
+
+  /** Returns the neighbors of the given territory that match the condition. */
+  Set<Territory> getNeighbors(final Territory territory, final Predicate<Territory> condition) {
+    final int id = getExistingId(territory);
+    final Set<Territory> result = new HashSet<>();
+    for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+      final Territory neighbor = territories[neighbors[i]];
+      if (condition.test(neighbor)) {
+        result.add(neighbor);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns all territories within the given distance of any of the start territories, where every
+   * step of the path from one territory to the next matches the route condition. The start
+   * territories aren't part of the result.
+   */
+  Set<Territory> getNeighbors(
+      final Collection<Territory> start,
+      final int distance,
+      final BiPredicate<Territory, Territory> routeCondition) {
+    final SearchState state = acquireSearchState();
+    try {
+      final int[] queue = state.queue;
+      int tail = 0;
+      for (final Territory territory : start) {
+        final int id = getExistingId(territory);
+        if (!state.visited.get(id)) {
+          state.visited.set(id);
+          queue[tail++] = id;
+        }
+      }
+      final int startCount = tail;
+      int head = 0;
+      for (int level = 0; level < distance && head < tail; level++) {
+        final int levelEnd = tail;
+        while (head < levelEnd) {
+          final int from = queue[head++];
+          for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+            final int to = neighbors[i];
+            if (!state.visited.get(to) && routeCondition.test(territories[from], territories[to])) {
+              state.visited.set(to);
+              queue[tail++] = to;
+            }
+          }
+        }
+      }
+      final Set<Territory> result = new HashSet<>();
+      for (int i = startCount; i < tail; i++) {
+        result.add(territories[queue[i]]);
+      }
+      return result;
+    } finally {
+      state.release();
+    }
+  }
+
+  /**
+   * Returns all territories within the given distance of the start territory, where every
+   * territory of the path between the two matches the condition. The last territory of the path
+   * doesn't need to match it, and the start territory isn't part of the result.
+   */
+  Set<Territory> getNeighborsIgnoreEnd(
+      final Territory start, final int distance, final Predicate<Territory> condition) {
+    final SearchState state = acquireSearchState();
+    try {
+      final int startId = getExistingId(start);
+      final int[] queue = state.queue;
+      state.visited.set(startId);
+      queue[0] = startId;
+      int head = 0;
+      int tail = 1;
+      for (int level = 0; level < distance && head < tail; level++) {
+        final boolean isLastLevel = level == distance - 1;
+        final int levelEnd = tail;
+        while (head < levelEnd) {
+          final int from = queue[head++];
+          for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+            final int to = neighbors[i];
+            state.found.set(to);
+            if (!isLastLevel && !state.visited.get(to) && condition.test(territories[to])) {
+              state.visited.set(to);
+              queue[tail++] = to;
+            }
+          }
+        }
+      }
+      state.found.clear(startId);
+      final Set<Territory> result = new HashSet<>();
+      for (int id = state.found.nextSetBit(0); id >= 0; id = state.found.nextSetBit(id + 1)) {
+        result.add(territories[id]);
+      }
+      return result;
+    } finally {
+      state.release();
+    }
+  }
+
+  /**
+   * Returns the length of the shortest path between the two territories where every step of the
+   * path from one territory to the next matches the route condition or -1 if there is no such
+   * path.
+   */
+  int getDistance(
+      final Territory start,
+      final Territory end,
+      final BiPredicate<Territory, Territory> routeCondition) {
+    final int startId = getExistingId(start);
+    final int endId = getId(end);
+    if (endId == -1) {
+      return -1;
+    }
+    if (startId == endId) {
+      return 0;
+    }
+    final SearchState state = acquireSearchState();
+    try {
+      final int[] queue = state.queue;
+      state.visited.set(startId);
+      queue[0] = startId;
+      int head = 0;
+      int tail = 1;
+      for (int distance = 1; head < tail; distance++) {
+        final int levelEnd = tail;
+        while (head < levelEnd) {
+          final int from = queue[head++];
+          for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+            final int to = neighbors[i];
+            if (!state.visited.get(to) && routeCondition.test(territories[from], territories[to])) {
+              if (to == endId) {
+                return distance;
+              }
+              state.visited.set(to);
+              queue[tail++] = to;
+            }
+          }
+        }
+      }
+      return -1;
+    } finally {
+      state.release();
+    }
+  }
+
+  /**
+   * Returns the distance of every territory from the start territory along routes whose
+   * territories, except the start, match the condition, indexed by territory id. Territories that
+   * can't be reached have a distance of -1.
+   */
+  short[] getDistances(final int startId, final Predicate<Territory> condition) {
+    final short[] result = new short[territories.length];
+    Arrays.fill(result, (short) -1);
+    result[startId] = 0;
+    final SearchState state = acquireSearchState();
+    try {
+      final int[] queue = state.queue;
+      queue[0] = startId;
+      int head = 0;
+      int tail = 1;
+      while (head < tail) {
+        final int from = queue[head++];
+        for (int i = offsets[from]; i < offsets[from + 1]; i++) {
+          final int to = neighbors[i];
+          if (result[to] == -1 && to != startId && condition.test(territories[to])) {
+            result[to] = (short) (result[from] + 1);
+            queue[tail++] = to;
+          }
+        }
+      }
+      return result;
+    } finally {
+      state.release();
+    }
+  }
+
+  int getExistingId(final Territory territory) {
+    final int id = getId(territory);
+    if (id == -1) {
+      throw new IllegalArgumentException("No neighbors for: " + territory);
+    }
+    return id;
+  }
+
+  /**
+   * Returns the search state of the current thread or a new one if it is in use already, e.g.
+   * because a condition of a running search started another search.
+   */
+  private SearchState acquireSearchState() {
+    final SearchState state = searchStates.get();
+    if (state.inUse) {
+      final SearchState nestedState = new SearchState(territories.length);
+      nestedState.inUse = true;
+      return nestedState;
+    }
+    state.inUse = true;
+    return state;
+  }
+
+  private static final class SearchState {
+    private final BitSet visited;
+    private final BitSet found;
+    private final int[] queue;
+    private boolean inUse;
+
+    private SearchState(final int size) {
+      visited = new BitSet(size);
+      found = new BitSet(size);
+      queue = new int[size];
+    }
+
+    private void release() {
+      visited.clear();
+      found.clear();
+      inUse = false;
+    }
+  }
+}
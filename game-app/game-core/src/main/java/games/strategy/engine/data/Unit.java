@@ -10,6 +10,7 @@ import games.strategy.triplea.attachments.TerritoryAttachment;
 import games.strategy.triplea.attachments.UnitAttachment;
 import games.strategy.triplea.delegate.Matches;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -131,6 +132,66 @@ public class Unit extends GameDataComponent implements DynamicallyModifiable {
     setOwner(owner);
   }
 
+  /**
+   * Returns the unit with this unit's id in {@code data}, which has to be a copy of this unit's
+   * game data. If {@code data} does not know this unit yet, a copy of it is created and added to
+   * {@code data}. References to players, unit types and territories are looked up by name, units
+   * referenced by this unit are translated the same way.
+   *
+   * <p>This is a cheap alternative to translating units through serialization.
+   */
+  public Unit translateInto(final GameData data) {
+    final Unit existing = data.getUnits().get(id);
+    if (existing != null) {
+      return existing;
+    }
+    final Unit copy =
+        new Unit(
+            id,
+            data.getUnitTypeList().getUnitTypeOrThrow(type.getName()),
+            translatePlayer(owner, data),
+            data);
+    // register the copy before translating other units, in case they reference this unit
+    data.getUnits().put(copy);
+    copy.hits = hits;
+    copy.transportedBy = transportedBy == null ? null : transportedBy.translateInto(data);
+    final List<Unit> unloadedCopy = new ArrayList<>(unloaded.size());
+    for (final Unit unit : unloaded) {
+      unloadedCopy.add(unit.translateInto(data));
+    }
+    copy.setUnloaded(unloadedCopy);
+    copy.wasLoadedThisTurn = wasLoadedThisTurn;
+    copy.unloadedTo = translateTerritory(unloadedTo, data);
+    copy.wasUnloadedInCombatPhase = wasUnloadedInCombatPhase;
+    copy.alreadyMoved = alreadyMoved;
+    copy.bonusMovement = bonusMovement;
+    copy.unitDamage = unitDamage;
+    copy.submerged = submerged;
+    copy.originalOwner = originalOwner == null ? null : translatePlayer(originalOwner, data);
+    copy.wasInCombat = wasInCombat;
+    copy.wasLoadedAfterCombat = wasLoadedAfterCombat;
+    copy.wasAmphibious = wasAmphibious;
+    copy.originatedFrom = translateTerritory(originatedFrom, data);
+    copy.wasScrambled = wasScrambled;
+    copy.maxScrambleCount = maxScrambleCount;
+    copy.wasInAirBattle = wasInAirBattle;
+    copy.disabled = disabled;
+    copy.launched = launched;
+    copy.airborne = airborne;
+    copy.chargedFlatFuelCost = chargedFlatFuelCost;
+    return copy;
+  }
+
+  private static @Nullable GamePlayer translatePlayer(
+      final @Nullable GamePlayer player, final GameData data) {
+    return player == null ? null : data.getPlayerList().getPlayerId(player.getName());
+  }
+
+  private static @Nullable Territory translateTerritory(
+      final @Nullable Territory territory, final GameData data) {
+    return territory == null ? null : data.getMap().getTerritoryOrNull(territory.getName());
+  }
+
   public UnitAttachment getUnitAttachment() {
     return type.getUnitAttachment();
   }
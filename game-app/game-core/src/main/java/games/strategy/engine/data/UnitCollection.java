@@ -1,6 +1,5 @@
 package games.strategy.engine.data;
 
-import games.strategy.triplea.delegate.Matches;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -10,17 +9,22 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import lombok.Getter;
 import org.triplea.java.collections.CollectionUtils;
 import org.triplea.java.collections.IntegerMap;
 
-/** A collection of units. */
+/**
+ * A collection of units. The collection keeps a {@link UnitSummary} of its units, which is created
+ * when the counts are first needed and then updated with every added or removed unit, so that
+ * counting units by owner or type and asking for the owners of the units doesn't scan all units.
+ */
 public class UnitCollection extends GameDataComponent implements Collection<Unit> {
   private static final long serialVersionUID = -3534037864426122864L;
 
   private final List<Unit> units = new ArrayList<>();
   @Getter private final NamedUnitHolder holder;
+  @Nullable private transient volatile UnitSummary summary;
 
   public UnitCollection(final NamedUnitHolder holder, final GameData data) {
     super(data);
@@ -30,6 +34,10 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean add(final Unit unit) {
     units.add(unit);
+    final UnitSummary summary = this.summary;
+    if (summary != null) {
+      summary.add(unit);
+    }
     holder.notifyChanged();
     return true;
   }
@@ -37,31 +45,81 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean addAll(final Collection<? extends Unit> units) {
     final boolean result = this.units.addAll(units);
+    final UnitSummary summary = this.summary;
+    if (summary != null) {
+      units.forEach(summary::add);
+    }
     holder.notifyChanged();
     return result;
   }
 
   @Override
   public boolean removeAll(final Collection<?> units) {
-    final boolean result = this.units.removeAll(units);
+    final boolean result = removeUnitsIf(units::contains);
     holder.notifyChanged();
     return result;
   }
 
+  /**
+   * Removes the units that match the predicate and updates the summary, with the same cost as
+   * {@link List#removeIf(Predicate)}.
+   */
+  private boolean removeUnitsIf(final Predicate<? super Unit> predicate) {
+    final UnitSummary summary = this.summary;
+    if (summary == null) {
+      return units.removeIf(predicate);
+    }
+    return units.removeIf(
+        unit -> {
+          if (predicate.test(unit)) {
+            summary.remove(unit);
+            return true;
+          }
+          return false;
+        });
+  }
+
+  private UnitSummary getSummary() {
+    UnitSummary summary = this.summary;
+    if (summary == null) {
+      summary = new UnitSummary(units);
+      this.summary = summary;
+    }
+    return summary;
+  }
+
+  /**
+   * Drops the unit counts of this collection, which have to be recomputed when they are needed
+   * next. Needs to be called when units of this collection change their owner.
+   */
+  public void clearCache() {
+    summary = null;
+  }
+
   public int getUnitCount() {
     return units.size();
   }
 
   int getUnitCount(final UnitType type) {
-    return (int) units.stream().filter(u -> u.getType().equals(type)).count();
+    return getSummary().getCount(type);
   }
 
   public int getUnitCount(final UnitType type, final GamePlayer owner) {
-    return (int) units.stream().filter(u -> u.getType().equals(type) && u.isOwnedBy(owner)).count();
+    return getSummary().getCount(type, owner);
   }
 
   int getUnitCount(final GamePlayer owner) {
-    return (int) units.stream().filter(u -> u.isOwnedBy(owner)).count();
+    return getSummary().getCount(owner);
+  }
+
+  /** Returns true if the collection contains a unit of the given player. */
+  public boolean hasUnitsOwnedBy(final GamePlayer owner) {
+    return getSummary().getCount(owner) > 0;
+  }
+
+  /** Returns true if any player who has units in this collection matches the condition. */
+  public boolean anyOwnerMatches(final Predicate<GamePlayer> condition) {
+    return getSummary().anyOwnerMatches(condition);
   }
 
   @Override
@@ -118,11 +176,12 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   /** Returns integer map of UnitType. */
   public IntegerMap<UnitType> getUnitsByType() {
     final IntegerMap<UnitType> units = new IntegerMap<>();
+    final UnitSummary summary = getSummary();
     getData()
         .getUnitTypeList()
         .forEach(
             type -> {
-              final int count = getUnitCount(type);
+              final int count = summary.getCount(type);
               if (count > 0) {
                 units.put(type, count);
               }
@@ -132,11 +191,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
 
   /** Returns map of UnitType (only of units for the specified player). */
   public IntegerMap<UnitType> getUnitsByType(final GamePlayer gamePlayer) {
-    final IntegerMap<UnitType> count = new IntegerMap<>();
-    units.stream()
-        .filter(Matches.unitIsOwnedBy(gamePlayer))
-        .forEach(unit -> count.add(unit.getType(), 1));
-    return count;
+    return getSummary().getCountsByType(gamePlayer);
   }
 
   @Override
@@ -152,14 +207,12 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   /** Returns a Set of all players who have units in this collection. */
   public Set<GamePlayer> getPlayersWithUnits() {
     // note nulls are handled by PlayerList.getNullPlayer()
-    return units.stream().map(Unit::getOwner).collect(Collectors.toSet());
+    return getSummary().getOwners();
   }
 
   /** Returns the count of units each player has in this collection. */
   public IntegerMap<GamePlayer> getPlayerUnitCounts() {
-    final IntegerMap<GamePlayer> count = new IntegerMap<>();
-    units.forEach(unit -> count.add(unit.getOwner(), 1));
-    return count;
+    return getSummary().getCountsByOwner();
   }
 
   public List<GamePlayer> getPlayersSortedByUnitCount() {
@@ -170,7 +223,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   }
 
   public boolean hasUnitsFromMultiplePlayers() {
-    return getPlayersWithUnits().size() > 1;
+    return getSummary().getOwnerCount() > 1;
   }
 
   public boolean allMatch(final Predicate<Unit> matcher) {
@@ -224,6 +277,10 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   @Override
   public boolean remove(final Object object) {
     final boolean changed = units.remove(object);
+    final UnitSummary summary = this.summary;
+    if (changed && summary != null && object instanceof Unit unit) {
+      summary.remove(unit);
+    }
     if (changed) {
       holder.notifyChanged();
     }
@@ -232,7 +289,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
 
   @Override
   public boolean removeIf(final Predicate<? super Unit> predicate) {
-    final boolean changed = units.removeIf(predicate);
+    final boolean changed = removeUnitsIf(predicate);
     if (changed) {
       holder.notifyChanged();
     }
@@ -241,7 +298,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
 
   @Override
   public boolean retainAll(final Collection<?> collection) {
-    final boolean changed = units.retainAll(collection);
+    final boolean changed = removeUnitsIf(unit -> !collection.contains(unit));
     if (changed) {
       holder.notifyChanged();
     }
@@ -252,6 +309,7 @@ public class UnitCollection extends GameDataComponent implements Collection<Unit
   public void clear() {
     if (!units.isEmpty()) {
       units.clear();
+      summary = null;
       holder.notifyChanged();
     }
   }
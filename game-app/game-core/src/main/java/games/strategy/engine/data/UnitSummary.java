@@ -0,0 +1,97 @@
+package games.strategy.engine.data;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.triplea.java.collections.IntegerMap;
+
+/**
+ * The unit counts of a {@link UnitCollection} by owner and type. The summary is kept up to date by
+ * its collection as units are added and removed, so the counts don't have to be computed by
+ * scanning every unit. Owner changes of units that are already part of the collection aren't
+ * noticed, the collection has to drop its summary in that case.
+ *
+ * <p>Only owners and types with at least one unit are part of the summary.
+ */
+final class UnitSummary {
+  private final IntegerMap<UnitType> countsByType = new IntegerMap<>();
+  private final IntegerMap<GamePlayer> countsByOwner = new IntegerMap<>();
+  private final Map<GamePlayer, IntegerMap<UnitType>> countsByOwnerAndType = new HashMap<>();
+
+  UnitSummary(final Collection<Unit> units) {
+    units.forEach(this::add);
+  }
+
+  void add(final Unit unit) {
+    final GamePlayer owner = unit.getOwner();
+    countsByType.add(unit.getType(), 1);
+    countsByOwner.add(owner, 1);
+    countsByOwnerAndType.computeIfAbsent(owner, key -> new IntegerMap<>()).add(unit.getType(), 1);
+  }
+
+  void remove(final Unit unit) {
+    final GamePlayer owner = unit.getOwner();
+    decrement(countsByType, unit.getType());
+    decrement(countsByOwner, owner);
+    final IntegerMap<UnitType> ownerCounts = countsByOwnerAndType.get(owner);
+    if (ownerCounts != null) {
+      decrement(ownerCounts, unit.getType());
+      if (ownerCounts.isEmpty()) {
+        countsByOwnerAndType.remove(owner);
+      }
+    }
+  }
+
+  private static <T> void decrement(final IntegerMap<T> counts, final T key) {
+    final int count = counts.getInt(key);
+    if (count <= 1) {
+      counts.removeKey(key);
+    } else {
+      counts.put(key, count - 1);
+    }
+  }
+
+  int getCount(final UnitType type) {
+    return countsByType.getInt(type);
+  }
+
+  int getCount(final GamePlayer owner) {
+    return countsByOwner.getInt(owner);
+  }
+
+  int getCount(final UnitType type, final GamePlayer owner) {
+    final IntegerMap<UnitType> ownerCounts = countsByOwnerAndType.get(owner);
+    return ownerCounts == null ? 0 : ownerCounts.getInt(type);
+  }
+
+  /** Returns a copy of the unit counts of the given owner by type. */
+  IntegerMap<UnitType> getCountsByType(final GamePlayer owner) {
+    final IntegerMap<UnitType> ownerCounts = countsByOwnerAndType.get(owner);
+    return ownerCounts == null ? new IntegerMap<>() : new IntegerMap<>(ownerCounts);
+  }
+
+  /** Returns a copy of the unit counts by owner. */
+  IntegerMap<GamePlayer> getCountsByOwner() {
+    return new IntegerMap<>(countsByOwner);
+  }
+
+  Set<GamePlayer> getOwners() {
+    return new HashSet<>(countsByOwner.keySet());
+  }
+
+  int getOwnerCount() {
+    return countsByOwner.size();
+  }
+
+  boolean anyOwnerMatches(final Predicate<GamePlayer> condition) {
+    for (final GamePlayer owner : countsByOwner.keySet()) {
+      if (condition.test(owner)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -25,6 +25,10 @@ public class UnitsList implements Serializable, Iterable<Unit> {
     allUnits.put(unit.getId(), unit);
   }
 
+  public void remove(final Unit unit) {
+    allUnits.remove(unit.getId());
+  }
+
   /** Gets all units currently in the game. */
   public Collection<Unit> getUnits() {
     return Collections.unmodifiableCollection(allUnits.values());
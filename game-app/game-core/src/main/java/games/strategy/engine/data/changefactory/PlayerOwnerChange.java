@@ -60,7 +60,9 @@ class PlayerOwnerChange extends Change {
           final GamePlayer newOwner = data.getPlayerList().getPlayerId(newOwnerName);
           unit.setOwner(newOwner);
         });
-    data.getMap().getTerritoryOrThrow(territoryName).notifyChanged();
+    final Territory territory = data.getMap().getTerritoryOrThrow(territoryName);
+    territory.getUnitCollection().clearCache();
+    territory.notifyChanged();
   }
 
   @Override
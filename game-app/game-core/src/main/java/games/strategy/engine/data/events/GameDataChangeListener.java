@@ -1,8 +1,17 @@
 package games.strategy.engine.data.events;
 
 import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
 
 /** A GameDataChangeListener will be notified on changes to the GameData. */
 public interface GameDataChangeListener {
   void gameDataChanged(Change change);
+
+  /**
+   * Called instead of {@link #gameDataChanged(Change)} with the number of the change, i.e. the
+   * {@link GameData#getChangeCount()} right after the change was performed.
+   */
+  default void gameDataChanged(final Change change, final long changeNumber) {
+    gameDataChanged(change);
+  }
 }
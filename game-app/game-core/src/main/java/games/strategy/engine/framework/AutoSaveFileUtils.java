@@ -5,6 +5,7 @@ import static games.strategy.engine.framework.GameDataFileUtils.addExtension;
 import static org.triplea.java.StringUtils.capitalize;
 
 import com.google.common.annotations.VisibleForTesting;
+import games.strategy.engine.framework.save.game.ChangeJournal;
 import games.strategy.triplea.settings.ClientSetting;
 import java.io.File;
 import java.io.IOException;
@@ -40,7 +41,10 @@ public class AutoSaveFileUtils {
     }
 
     try (Stream<Path> paths = Files.list(autoSaveFolder)) {
-      return paths.filter(f -> !Files.isDirectory(f)).collect(Collectors.toList());
+      return paths
+          .filter(f -> !Files.isDirectory(f))
+          .filter(f -> !ChangeJournal.isJournalFile(f))
+          .collect(Collectors.toList());
     } catch (IOException e) {
       log.warn("Unable to list auto-save game files", e);
       return List.of();
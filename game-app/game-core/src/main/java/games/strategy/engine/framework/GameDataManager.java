@@ -5,6 +5,9 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.framework.save.game.ChangeJournal;
+import games.strategy.engine.framework.save.game.SaveGameMetadata;
+import games.strategy.engine.framework.save.game.SaveGameSnapshot;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.EOFException;
@@ -17,14 +20,15 @@ import java.io.Serializable;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 import java.util.zip.ZipException;
 import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.jetbrains.annotations.NonNls;
 import org.triplea.config.product.ProductVersionReader;
+import org.triplea.io.IoUtils;
+import org.triplea.io.MultiMemberGzipInputStream;
+import org.triplea.io.ParallelGzipOutputStream;
 
 /** Responsible for loading saved games, new games from xml, and saving games. */
 @Slf4j
@@ -36,7 +40,11 @@ public final class GameDataManager {
   private GameDataManager() {}
 
   /**
-   * Loads game data from the specified file.
+   * Loads game data from the specified file. If the file is the checkpoint of a {@link
+   * ChangeJournal}, its journal is replayed onto the loaded game data. The checkpoint alone is
+   * loaded if the journal can't be replayed.
+   *
+   * <p>This is the only way to load a checkpoint, because its journal is found next to its file.
    *
    * @param file The file from which the game data will be loaded.
    * @return The loaded game data or empty if there were problems.
@@ -45,9 +53,30 @@ public final class GameDataManager {
     checkNotNull(file);
     checkArgument(Files.exists(file));
 
+    final Path journalFile = ChangeJournal.getJournalFile(file);
+    if (!Files.exists(journalFile)) {
+      return loadGameFromFile(file);
+    }
+    return loadGameFromFile(file)
+        .map(
+            data -> {
+              try {
+                ChangeJournal.replay(data, file);
+                return data;
+              } catch (final IOException | ClassNotFoundException | RuntimeException e) {
+                log.error(
+                    "Failed to replay the journal, loading the game without it: "
+                        + journalFile.toAbsolutePath(),
+                    e);
+                return loadGameFromFile(file).orElse(null);
+              }
+            });
+  }
+
+  private static Optional<GameData> loadGameFromFile(final Path file) {
     try (InputStream fis = Files.newInputStream(file);
         InputStream is = new BufferedInputStream(fis)) {
-      return loadGame(is);
+      return loadGameCompressed(is);
     } catch (final IOException e) {
       log.error("Input stream error", e);
       return Optional.empty();
@@ -55,14 +84,40 @@ public final class GameDataManager {
   }
 
   /**
-   * Loads game data from the specified stream.
+   * Loads game data from the specified stream. The checkpoint of a {@link ChangeJournal} is not
+   * loaded, because its journal can't be replayed without its file, see {@link #loadGame(Path)}.
    *
    * @param is The stream from which the game data will be loaded. The caller is responsible for
    *     closing this stream; it will not be closed when this method returns.
    * @return The loaded game data, or an empty optional if an error occurs.
    */
   public static Optional<GameData> loadGame(final InputStream is) {
-    try (GZIPInputStream input = new GZIPInputStream(is)) {
+    final InputStream input = is.markSupported() ? is : new BufferedInputStream(is);
+    if (isJournalCheckpoint(input)) {
+      log.error(
+          "The saved game is an auto-save that is continued in a journal next to its file. "
+              + "Load the auto-save from its file instead.");
+      return Optional.empty();
+    }
+    return loadGameCompressed(input);
+  }
+
+  private static boolean isJournalCheckpoint(final InputStream is) {
+    is.mark(SaveGameMetadata.MAX_HEADER_LENGTH);
+    try {
+      try {
+        return SaveGameMetadata.read(is).filter(SaveGameMetadata::journalCheckpoint).isPresent();
+      } finally {
+        is.reset();
+      }
+    } catch (final IOException e) {
+      // not a saved game, which is reported when it is loaded
+      return false;
+    }
+  }
+
+  private static Optional<GameData> loadGameCompressed(final InputStream is) {
+    try (InputStream input = new MultiMemberGzipInputStream(is)) {
       return loadGameUncompressed(input);
     } catch (final EOFException e) {
       log.error(
@@ -138,9 +193,14 @@ public final class GameDataManager {
     try {
       // write to temporary file first in case of error
       try (OutputStream os = Files.newOutputStream(tempFile);
-          OutputStream bufferedOutStream = new BufferedOutputStream(os);
-          OutputStream zippedOutStream = new GZIPOutputStream(bufferedOutStream)) {
-        saveGameUncompressed(zippedOutStream, gameData, Options.forSaveGame());
+          OutputStream bufferedOutStream = new BufferedOutputStream(os)) {
+        // the metadata has to describe the same state of the game as the saved game data
+        try (GameData.Unlocker ignored = gameData.acquireWriteLock()) {
+          SaveGameMetadata.of(gameData).write(bufferedOutStream);
+          try (OutputStream zippedOutStream = new ParallelGzipOutputStream(bufferedOutStream)) {
+            saveGameUncompressed(zippedOutStream, gameData, Options.forSaveGame());
+          }
+        }
       }
 
       // now write to sink (ensure sink is closed per method contract)
@@ -153,6 +213,48 @@ public final class GameDataManager {
     }
   }
 
+  /**
+   * Returns the game data serialized like a saved game but without compressing it. Writing the
+   * snapshot with {@link #saveSnapshot(OutputStream, SaveGameSnapshot)} later creates the same
+   * saved game as {@link #saveGame(OutputStream, GameData)}, so the game data only needs to be
+   * locked while it is serialized to memory.
+   *
+   * @param gameData The game data to save.
+   * @return The uncompressed snapshot of the game data.
+   * @throws IOException If an error occurs while serializing the game data.
+   */
+  public static SaveGameSnapshot saveGameSnapshot(final GameData gameData) throws IOException {
+    checkNotNull(gameData);
+
+    // the metadata has to describe the same state of the game as the serialized game data
+    try (GameData.Unlocker ignored = gameData.acquireWriteLock()) {
+      return new SaveGameSnapshot(
+          SaveGameMetadata.of(gameData),
+          IoUtils.writeToMemory(os -> saveGameUncompressed(os, gameData, Options.forSaveGame())));
+    }
+  }
+
+  /**
+   * Saves the specified snapshot of {@link #saveGameSnapshot(GameData)} to the specified stream.
+   *
+   * @param out The stream to which the saved game will be written. Note that this stream will be
+   *     closed if this method returns successfully.
+   * @param snapshot The uncompressed snapshot of the game data.
+   * @throws IOException If an error occurs while saving the game.
+   */
+  public static void saveSnapshot(final OutputStream out, final SaveGameSnapshot snapshot)
+      throws IOException {
+    checkNotNull(out);
+    checkNotNull(snapshot);
+
+    try (OutputStream bufferedOutStream = new BufferedOutputStream(out)) {
+      snapshot.metadata().write(bufferedOutStream);
+      try (OutputStream zippedOutStream = new ParallelGzipOutputStream(bufferedOutStream)) {
+        zippedOutStream.write(snapshot.gameData());
+      }
+    }
+  }
+
   @Builder
   public static class Options {
     @Builder.Default boolean withDelegates = false;
@@ -177,7 +279,7 @@ public final class GameDataManager {
   public static void saveGameUncompressed(
       final OutputStream sink, final GameData data, final Options options) throws IOException {
     // write to temporary file first in case of error
-    try (ObjectOutputStream outStream = new ObjectOutputStream(sink)) {
+    try (ObjectOutputStream outStream = new SaveGameObjectOutputStream(sink)) {
       outStream.writeObject(ProductVersionReader.getCurrentVersion());
       try (GameData.Unlocker ignored = data.acquireWriteLock()) {
         final var history = data.getHistory();
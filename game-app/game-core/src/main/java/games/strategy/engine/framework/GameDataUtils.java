@@ -56,16 +56,32 @@ public final class GameDataUtils {
   }
 
   /** Translate units, territories and other game data objects from one game data into another. */
-  @SuppressWarnings("unchecked")
   public static <T> T translateIntoOtherGameData(final T object, final GameData translateInto) {
+    return gameObjectFromBytes(gameObjectToBytes(object), translateInto);
+  }
+
+  /**
+   * Serializes game data objects (units, territories, changes, ...) so they can later be resolved
+   * against one or more other game data instances with {@link #gameObjectFromBytes(byte[],
+   * GameData)}.
+   */
+  public static byte[] gameObjectToBytes(final Object object) {
+    try {
+      return IoUtils.writeToMemory(
+          os -> {
+            try (ObjectOutputStream out = new GameObjectOutputStream(os)) {
+              out.writeObject(object);
+            }
+          });
+    } catch (final IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /** Deserializes game data objects written by {@link #gameObjectToBytes(Object)} into a data. */
+  @SuppressWarnings("unchecked")
+  public static <T> T gameObjectFromBytes(final byte[] bytes, final GameData translateInto) {
     try {
-      final byte[] bytes =
-          IoUtils.writeToMemory(
-              os -> {
-                try (ObjectOutputStream out = new GameObjectOutputStream(os)) {
-                  out.writeObject(object);
-                }
-              });
       return IoUtils.readFromMemory(
           bytes,
           is -> {
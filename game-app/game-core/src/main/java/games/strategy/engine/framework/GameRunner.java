@@ -16,4 +16,9 @@ public final class GameRunner {
   public static boolean exitOnEndGame() {
     return Boolean.parseBoolean(System.getProperty("triplea.exit.on.game.end", "false"));
   }
+
+  /** Whether the server game writes its auto-saves as a checkpoint and a journal of changes. */
+  public static boolean journaledAutoSaves() {
+    return Boolean.parseBoolean(System.getProperty("triplea.journaled.autosaves", "false"));
+  }
 }
@@ -0,0 +1,38 @@
+package games.strategy.engine.framework;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the game data of saved games. The game data contains many strings and numbers that are
+ * equal but distinct instances, e.g. the names of properties and the values in the changes of the
+ * history. This stream writes every such value once and then refers to it, as it does for every
+ * object that is written twice, so saved games get smaller and are written and read faster.
+ *
+ * <p>The format of the stream doesn't change, so the saved games are read with a plain {@link
+ * ObjectInputStream} and remain readable by older versions. Equal values share an instance after
+ * they were read.
+ */
+final class SaveGameObjectOutputStream extends ObjectOutputStream {
+  private final Map<Object, Object> values = new HashMap<>();
+
+  SaveGameObjectOutputStream(final OutputStream output) throws IOException {
+    super(output);
+    enableReplaceObject(true);
+  }
+
+  @Override
+  protected Object replaceObject(final Object obj) {
+    // only immutable values, whose identity doesn't matter, may be shared
+    if (obj instanceof String || obj instanceof Integer || obj instanceof BigDecimal) {
+      final Object value = values.putIfAbsent(obj, obj);
+      return value == null ? obj : value;
+    }
+    return obj;
+  }
+}
@@ -18,6 +18,8 @@ import games.strategy.engine.delegate.DelegateExecutionManager;
 import games.strategy.engine.delegate.IDelegate;
 import games.strategy.engine.delegate.IDelegateBridge;
 import games.strategy.engine.delegate.IPersistentDelegate;
+import games.strategy.engine.framework.save.game.AutoSaveWriter;
+import games.strategy.engine.framework.save.game.ChangeJournal;
 import games.strategy.engine.framework.save.game.GameDataWriter;
 import games.strategy.engine.framework.startup.launcher.LaunchAction;
 import games.strategy.engine.framework.startup.mc.IObserverWaitingToJoin;
@@ -76,6 +78,9 @@ public class ServerGame extends AbstractGame {
   private IRandomSource randomSource = new PlainRandomSource();
   private @Nullable IRandomSource delegateRandomSource;
   private final DelegateExecutionManager delegateExecutionManager = new DelegateExecutionManager();
+  private final AutoSaveWriter autoSaveWriter = new AutoSaveWriter();
+  /** Records the changes for journaled auto-saves, null if they are disabled. */
+  @Nullable private final ChangeJournal journal;
   @Nullable @Getter private final InGameLobbyWatcherWrapper inGameLobbyWatcher;
   private boolean needToInitialize = true;
   private final LaunchAction launchAction;
@@ -123,6 +128,8 @@ public class ServerGame extends AbstractGame {
     this.clientNetworkBridge = clientNetworkBridge;
     this.launchAction = launchAction;
     this.inGameLobbyWatcher = inGameLobbyWatcher;
+    journal =
+        GameRunner.journaledAutoSaves() ? new ChangeJournal(launchAction.getAutoSaveFile()) : null;
     // Keep a ref to the history writer. This not only makes the calls below more concise, but also
     // prevents a need to grab the lock on gameData (as its history object can get reset temporarily
     // during game cloning operations for the battle calculator, e.g. by AIs).
@@ -134,6 +141,9 @@ public class ServerGame extends AbstractGame {
             assertCorrectCaller();
             gameData.performChange(change);
             historyWriter.addChange(change);
+            if (journal != null) {
+              journal.recordChange(change);
+            }
           }
 
           private void assertCorrectCaller() {
@@ -154,17 +164,26 @@ public class ServerGame extends AbstractGame {
           public void startHistoryEvent(final String event) {
             assertCorrectCaller();
             historyWriter.startEvent(event);
+            if (journal != null) {
+              journal.recordEvent(event);
+            }
           }
 
           @Override
           public void addChildToEvent(final String text, final Object renderingData) {
             assertCorrectCaller();
             historyWriter.addChildToEvent(new EventChild(text, renderingData));
+            if (journal != null) {
+              journal.recordChildToEvent(text, renderingData);
+            }
           }
 
           void setRenderingData(final Object renderingData) {
             assertCorrectCaller();
             historyWriter.setRenderingData(renderingData);
+            if (journal != null) {
+              journal.recordRenderingData(renderingData);
+            }
           }
 
           @Override
@@ -180,6 +199,9 @@ public class ServerGame extends AbstractGame {
               return;
             }
             historyWriter.startNextStep(stepName, delegateName, player, displayName);
+            if (journal != null) {
+              journal.recordNextStep(stepName, delegateName, player, displayName);
+            }
           }
 
           // nothing to do, we call this
@@ -385,6 +407,10 @@ public class ServerGame extends AbstractGame {
       delegateExecutionManager.setGameOver();
       getGameModifiedBroadcaster().shutDown();
       randomStats.shutDown();
+      autoSaveWriter.shutDown();
+      if (journal != null) {
+        journal.shutDown();
+      }
       messengers.unregisterChannelSubscriber(gameModifiedChannel, IGame.GAME_MODIFICATION_CHANNEL);
       messengers.unregisterRemote(SERVER_REMOTE);
       vault.shutDown();
@@ -416,7 +442,20 @@ public class ServerGame extends AbstractGame {
   }
 
   private void autoSaveBefore(final IDelegate delegate) {
-    saveGame(launchAction.getAutoSaveFileUtils().getBeforeStepAutoSaveFile(delegate.getName()));
+    autoSave(launchAction.getAutoSaveFileUtils().getBeforeStepAutoSaveFile(delegate.getName()));
+  }
+
+  /**
+   * Saves the game to the specified file in the background, see {@link AutoSaveWriter}. With
+   * journaled auto-saves every auto-save goes to the checkpoint and journal of the {@link
+   * ChangeJournal} instead.
+   */
+  private void autoSave(final Path file) {
+    if (journal != null) {
+      journal.save(gameData, delegateExecutionManager);
+    } else {
+      autoSaveWriter.save(gameData, delegateExecutionManager, file);
+    }
   }
 
   @Override
@@ -472,9 +511,13 @@ public class ServerGame extends AbstractGame {
       return;
     }
     if (gameData.getSequence().next()) {
-      gameData.getHistory().getHistoryWriter().startNextRound(gameData.getSequence().getRound());
-      saveGame(
-          gameData.getSequence().getRound() % 2 == 0
+      final int round = gameData.getSequence().getRound();
+      gameData.getHistory().getHistoryWriter().startNextRound(round);
+      if (journal != null) {
+        journal.recordNextRound(round);
+      }
+      autoSave(
+          round % 2 == 0
               ? launchAction.getAutoSaveFileUtils().getEvenRoundAutoSaveFile()
               : launchAction.getAutoSaveFileUtils().getOddRoundAutoSaveFile());
     }
@@ -484,6 +527,9 @@ public class ServerGame extends AbstractGame {
       if (newPlayer != null && newPlayer.isAi() && !newPlayer.equals(currentStep.getPlayerId())) {
         String text = "Turning off Edit Mode when switching to AI player";
         gameData.getHistory().getHistoryWriter().startEvent(text);
+        if (journal != null) {
+          journal.recordEvent(text);
+        }
         gameData.getProperties().set(EDIT_MODE, false);
       }
     }
@@ -512,14 +558,14 @@ public class ServerGame extends AbstractGame {
 
   private void autoSaveAfter(final String stepName) {
     final var saveUtils = launchAction.getAutoSaveFileUtils();
-    saveGame(saveUtils.getAfterStepAutoSaveFile(saveUtils.getAutoSaveStepName(stepName)));
+    autoSave(saveUtils.getAfterStepAutoSaveFile(saveUtils.getAutoSaveStepName(stepName)));
   }
 
   private void autoSaveAfter(final IDelegate delegate) {
     final String typeName = delegate.getClass().getTypeName();
     final String stepName =
         typeName.substring(typeName.lastIndexOf('.') + 1).replaceFirst("Delegate$", "");
-    saveGame(launchAction.getAutoSaveFileUtils().getAfterStepAutoSaveFile(stepName));
+    autoSave(launchAction.getAutoSaveFileUtils().getAfterStepAutoSaveFile(stepName));
   }
 
   private void endStep() {
@@ -0,0 +1,133 @@
+package games.strategy.engine.framework.save.game;
+
+import com.google.common.annotations.VisibleForTesting;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.delegate.DelegateExecutionManager;
+import games.strategy.engine.framework.GameDataManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.triplea.java.function.ThrowingConsumer;
+
+/**
+ * Writes auto-saves without stalling the game. The game data is only locked while a snapshot of it
+ * is serialized to memory, the snapshot is compressed and written to disk on a background thread.
+ * Every save is written to a temporary file next to its destination first and then moved over it,
+ * so an auto-save that is loaded while it is written is never incomplete.
+ *
+ * <p>At most one snapshot per file waits to be written. If the disk can't keep up, a newer save of
+ * the same file replaces the waiting snapshot, so memory use is bounded, the game never waits for
+ * the disk and every file still gets its latest save.
+ */
+@Slf4j
+public class AutoSaveWriter {
+  private static final long SHUT_DOWN_TIMEOUT_SECONDS = 30;
+
+  private final ExecutorService executor;
+  private final Map<Path, SaveGameSnapshot> pendingSaves = new HashMap<>();
+
+  public AutoSaveWriter() {
+    this(
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              final Thread thread = new Thread(runnable, "Auto-save writer");
+              thread.setDaemon(true);
+              return thread;
+            }));
+  }
+
+  @VisibleForTesting
+  AutoSaveWriter(final ExecutorService executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Takes a snapshot of the game data and writes it to the specified file in the background. Does
+   * nothing if no snapshot could be taken.
+   */
+  public void save(
+      final GameData gameData,
+      final DelegateExecutionManager delegateExecutionManager,
+      final Path file) {
+    GameDataWriter.writeSnapshot(gameData, delegateExecutionManager)
+        .ifPresent(snapshot -> save(snapshot, file));
+  }
+
+  synchronized void save(final SaveGameSnapshot snapshot, final Path file) {
+    if (executor.isShutdown()) {
+      log.warn("Auto-save writer was shut down, not saving: " + file.toAbsolutePath());
+      return;
+    }
+    if (pendingSaves.put(file, snapshot) == null) {
+      executor.execute(() -> writePendingSave(file));
+    } else {
+      log.warn(
+          "Auto-saves are written too slowly, replacing the waiting save: "
+              + file.toAbsolutePath());
+    }
+  }
+
+  private void writePendingSave(final Path file) {
+    final SaveGameSnapshot snapshot;
+    synchronized (this) {
+      snapshot = pendingSaves.remove(file);
+    }
+    try {
+      write(snapshot, file);
+    } catch (final IOException e) {
+      log.error("Failed to save game to file: " + file.toAbsolutePath(), e);
+    }
+  }
+
+  /** Writes the auto-saves that are still waiting and stops the background thread. */
+  public void shutDown() {
+    synchronized (this) {
+      executor.shutdown();
+    }
+    try {
+      if (!executor.awaitTermination(SHUT_DOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        log.warn("Timed out waiting for auto-saves to be written");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  static void write(final SaveGameSnapshot snapshot, final Path file) throws IOException {
+    writeAtomically(file, os -> GameDataManager.saveSnapshot(os, snapshot));
+  }
+
+  /**
+   * Writes the file with the writer to a temporary file next to it first and then moves the
+   * temporary file over it, so the file is either replaced completely or not at all.
+   */
+  static void writeAtomically(
+      final Path file, final ThrowingConsumer<OutputStream, IOException> writer)
+      throws IOException {
+    final Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    final Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream os = Files.newOutputStream(tempFile)) {
+        writer.accept(os);
+      }
+      try {
+        Files.move(
+            tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (final AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+}
@@ -0,0 +1,424 @@
+package games.strategy.engine.framework.save.game;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.delegate.DelegateExecutionManager;
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.framework.GameDataManager;
+import games.strategy.engine.framework.GameObjectStreamFactory;
+import games.strategy.engine.history.EventChild;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.delegate.EditDelegate;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes auto-saves incrementally. Instead of serializing the whole game data at every auto-save,
+ * the game data is written as a full checkpoint only every {@link #SAVES_PER_CHECKPOINT} saves. In
+ * between, the changes and history events that were recorded since the previous save are appended
+ * to a journal file next to the checkpoint, see {@link #getJournalFile(Path)}. {@link
+ * GameDataManager#loadGame(Path)} loads the checkpoint and replays the journal onto it.
+ *
+ * <p>The header of the journal holds the size and the checksum of its checkpoint file. A new
+ * checkpoint is moved into place before its journal replaces the journal of the previous
+ * checkpoint, so a crash in between leaves a complete checkpoint and a stale journal, which isn't
+ * replayed because it names another checkpoint.
+ *
+ * <p>After the header, the journal is a sequence of records, each one holding the length and the
+ * serialized entries of one save. The last entry of every record is a save point, which holds the
+ * state that isn't changed through {@link Change}s: the position in the game sequence, the edit
+ * mode and the states of the delegates. A record that was not written completely, e.g. because the
+ * game crashed while saving, is ignored, so the game is loaded as it was at the previous save.
+ *
+ * <p>The entries are serialized when they are recorded, so the journal doesn't keep references to
+ * objects that are changed later. The checkpoints and records are written to disk in order on a
+ * background thread.
+ */
+@Slf4j
+public class ChangeJournal {
+  static final int SAVES_PER_CHECKPOINT = 20;
+  static final int HEADER_LENGTH = Integer.BYTES + Long.BYTES + Long.BYTES;
+  private static final int JOURNAL_MAGIC = 0x544a524e;
+  private static final String JOURNAL_FILE_EXTENSION = ".journal";
+  private static final long SHUT_DOWN_TIMEOUT_SECONDS = 30;
+
+  private final Path checkpointFile;
+  private final Path journalFile;
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "Change journal writer");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** The entries recorded since the previous save or null if the next save is a checkpoint. */
+  @Nullable private ByteArrayOutputStream batch;
+
+  @Nullable private ObjectOutputStream batchOutput;
+  private int savesSinceCheckpoint;
+  private volatile boolean writeFailed;
+
+  public ChangeJournal(final Path checkpointFile) {
+    this.checkpointFile = checkpointFile;
+    this.journalFile = getJournalFile(checkpointFile);
+  }
+
+  /** Returns the journal file of the specified checkpoint file. */
+  public static Path getJournalFile(final Path checkpointFile) {
+    return checkpointFile.resolveSibling(checkpointFile.getFileName() + JOURNAL_FILE_EXTENSION);
+  }
+
+  /** Returns whether the file is the journal of a checkpoint rather than a saved game. */
+  public static boolean isJournalFile(final Path file) {
+    return file.getFileName().toString().endsWith(JOURNAL_FILE_EXTENSION);
+  }
+
+  public void recordChange(final Change change) {
+    record(new ChangePerformed(change));
+  }
+
+  public void recordEvent(final String eventName) {
+    record(new EventStarted(eventName));
+  }
+
+  public void recordChildToEvent(final String text, final Object renderingData) {
+    record(new EventChildAdded(text, renderingData));
+  }
+
+  public void recordRenderingData(final Object renderingData) {
+    record(new RenderingDataSet(renderingData));
+  }
+
+  public void recordNextStep(
+      final String stepName,
+      final String delegateName,
+      final GamePlayer player,
+      final String displayName) {
+    record(new StepStarted(stepName, delegateName, player, displayName));
+  }
+
+  public void recordNextRound(final int round) {
+    record(new RoundStarted(round));
+  }
+
+  private synchronized void record(final Entry entry) {
+    if (batchOutput == null) {
+      return;
+    }
+    try {
+      batchOutput.writeObject(entry);
+      // later entries must not refer to the state that earlier entries were written with
+      batchOutput.reset();
+    } catch (final IOException e) {
+      log.error("Failed to record " + entry + ", the next auto-save is a full save", e);
+      closeBatch();
+    }
+  }
+
+  /**
+   * Saves the game in the background, either as a new checkpoint or by appending the entries that
+   * were recorded since the previous save to the journal. Does nothing if the delegate execution
+   * could not be blocked or the game data could not be serialized.
+   */
+  public void save(
+      final GameData gameData, final DelegateExecutionManager delegateExecutionManager) {
+    try {
+      GameDataWriter.writeWhileDelegateExecutionIsBlocked(
+              () -> newPendingWrite(gameData), delegateExecutionManager)
+          .ifPresent(executor::execute);
+    } catch (final IOException e) {
+      log.error("Failed to take a snapshot of the game", e);
+    }
+  }
+
+  private synchronized Runnable newPendingWrite(final GameData gameData) throws IOException {
+    if (batchOutput == null || writeFailed || savesSinceCheckpoint >= SAVES_PER_CHECKPOINT) {
+      savesSinceCheckpoint = 0;
+      final SaveGameSnapshot saveGame = GameDataManager.saveGameSnapshot(gameData);
+      final SaveGameSnapshot snapshot =
+          new SaveGameSnapshot(saveGame.metadata().asJournalCheckpoint(), saveGame.gameData());
+      openBatch();
+      return () -> writeCheckpoint(snapshot);
+    }
+    savesSinceCheckpoint++;
+    final byte[] record;
+    try {
+      batchOutput.writeObject(SavePoint.of(gameData));
+      batchOutput.close();
+      record = batch.toByteArray();
+    } catch (final IOException e) {
+      closeBatch();
+      throw e;
+    }
+    openBatch();
+    return () -> appendToJournal(record);
+  }
+
+  private void openBatch() throws IOException {
+    batch = new ByteArrayOutputStream();
+    batchOutput = new JournalOutputStream(batch);
+  }
+
+  private void closeBatch() {
+    batch = null;
+    batchOutput = null;
+  }
+
+  private void writeCheckpoint(final SaveGameSnapshot snapshot) {
+    try {
+      final CRC32 checksum = new CRC32();
+      AutoSaveWriter.writeAtomically(
+          checkpointFile,
+          os -> GameDataManager.saveSnapshot(new CheckedOutputStream(os, checksum), snapshot));
+      // the journal of the previous checkpoint is stale from now on and replaced by an empty one
+      final long size = Files.size(checkpointFile);
+      AutoSaveWriter.writeAtomically(journalFile, os -> writeHeader(os, size, checksum.getValue()));
+      writeFailed = false;
+    } catch (final IOException e) {
+      writeFailed = true;
+      log.error("Failed to save game to file: " + checkpointFile.toAbsolutePath(), e);
+    }
+  }
+
+  private static void writeHeader(final OutputStream os, final long size, final long checksum)
+      throws IOException {
+    final DataOutputStream out = new DataOutputStream(os);
+    out.writeInt(JOURNAL_MAGIC);
+    out.writeLong(size);
+    out.writeLong(checksum);
+    out.flush();
+  }
+
+  /** Appends the record to the journal of the last checkpoint that was written successfully. */
+  private void appendToJournal(final byte[] record) {
+    if (writeFailed) {
+      return;
+    }
+    try (DataOutputStream out =
+        new DataOutputStream(Files.newOutputStream(journalFile, StandardOpenOption.APPEND))) {
+      out.writeInt(record.length);
+      out.write(record);
+    } catch (final IOException e) {
+      writeFailed = true;
+      log.error("Failed to save game to file: " + journalFile.toAbsolutePath(), e);
+    }
+  }
+
+  /** Writes the saves that are still waiting and stops the background thread. */
+  public void shutDown() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(SHUT_DOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        log.warn("Timed out waiting for auto-saves to be written");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Replays the journal of the checkpoint onto the game data that was loaded from the checkpoint. A
+   * record that was not written completely is ignored. Nothing is replayed if the journal belongs
+   * to another checkpoint.
+   *
+   * @throws IOException If the journal can't be read; the game data may be partially replayed.
+   */
+  public static void replay(final GameData gameData, final Path checkpointFile)
+      throws IOException, ClassNotFoundException {
+    final Path journalFile = getJournalFile(checkpointFile);
+    final HistoryWriter historyWriter = gameData.getHistory().getHistoryWriter();
+    try (InputStream is = new BufferedInputStream(Files.newInputStream(journalFile));
+        DataInputStream in = new DataInputStream(is)) {
+      if (in.readInt() != JOURNAL_MAGIC) {
+        throw new IOException("Not a journal: " + journalFile.toAbsolutePath());
+      }
+      if (in.readLong() != Files.size(checkpointFile)
+          || in.readLong() != getChecksum(checkpointFile)) {
+        log.warn(
+            "The journal belongs to another checkpoint, loading the game without it: "
+                + journalFile.toAbsolutePath());
+        return;
+      }
+      for (Optional<byte[]> record = readRecord(in); record.isPresent(); record = readRecord(in)) {
+        for (final Entry entry : readEntries(gameData, record.get())) {
+          entry.replay(gameData, historyWriter);
+        }
+      }
+    }
+  }
+
+  private static long getChecksum(final Path file) throws IOException {
+    final CRC32 checksum = new CRC32();
+    try (InputStream is = new CheckedInputStream(Files.newInputStream(file), checksum)) {
+      is.transferTo(OutputStream.nullOutputStream());
+    }
+    return checksum.getValue();
+  }
+
+  private static Optional<byte[]> readRecord(final DataInputStream in) throws IOException {
+    try {
+      final int length = in.readInt();
+      if (length < 0) {
+        throw new IOException("Invalid journal record length: " + length);
+      }
+      final byte[] record = new byte[length];
+      in.readFully(record);
+      return Optional.of(record);
+    } catch (final EOFException e) {
+      return Optional.empty();
+    }
+  }
+
+  /** Reads all entries of a record first, so a record is either replayed completely or not. */
+  private static List<Entry> readEntries(final GameData gameData, final byte[] record)
+      throws IOException, ClassNotFoundException {
+    final List<Entry> entries = new ArrayList<>();
+    try (ObjectInputStream in =
+        new JournalInputStream(
+            new GameObjectStreamFactory(gameData), new ByteArrayInputStream(record))) {
+      Entry entry;
+      do {
+        entry = (Entry) in.readObject();
+        entries.add(entry);
+      } while (!(entry instanceof SavePoint));
+    }
+    return entries;
+  }
+
+  private sealed interface Entry extends Serializable {
+    void replay(GameData gameData, HistoryWriter historyWriter);
+  }
+
+  private record ChangePerformed(Change change) implements Entry {
+    @Override
+    public void replay(final GameData gameData, final HistoryWriter historyWriter) {
+      gameData.performChange(change);
+      historyWriter.addChange(change);
+    }
+  }
+
+  private record EventStarted(String eventName) implements Entry {
+    @Override
+    public void replay(final GameData gameData, final HistoryWriter historyWriter) {
+      historyWriter.startEvent(eventName);
+    }
+  }
+
+  private record EventChildAdded(String text, Object renderingData) implements Entry {
+    @Override
+    public void replay(final GameData gameData, final HistoryWriter historyWriter) {
+      historyWriter.addChildToEvent(new EventChild(text, renderingData));
+    }
+  }
+
+  private record RenderingDataSet(Object renderingData) implements Entry {
+    @Override
+    public void replay(final GameData gameData, final HistoryWriter historyWriter) {
+      historyWriter.setRenderingData(renderingData);
+    }
+  }
+
+  private record StepStarted(
+      String stepName, String delegateName, GamePlayer player, String displayName)
+      implements Entry {
+    @Override
+    public void replay(final GameData gameData, final HistoryWriter historyWriter) {
+      historyWriter.startNextStep(stepName, delegateName, player, displayName);
+    }
+  }
+
+  private record RoundStarted(int round) implements Entry {
+    @Override
+    public void replay(final GameData gameData, final HistoryWriter historyWriter) {
+      historyWriter.startNextRound(round);
+    }
+  }
+
+  /** The state of the game that isn't changed through {@link Change}s. */
+  private record SavePoint(
+      int round, int stepIndex, boolean editMode, Map<String, Serializable> delegateStates)
+      implements Entry {
+    static SavePoint of(final GameData gameData) {
+      final Map<String, Serializable> delegateStates = new HashMap<>();
+      for (final IDelegate delegate : gameData.getDelegates()) {
+        delegateStates.put(delegate.getName(), delegate.saveState());
+      }
+      return new SavePoint(
+          gameData.getSequence().getRound(),
+          gameData.getSequence().getStepIndex(),
+          EditDelegate.getEditMode(gameData.getProperties()),
+          delegateStates);
+    }
+
+    @Override
+    public void replay(final GameData gameData, final HistoryWriter historyWriter) {
+      gameData.getSequence().setRoundAndStepIndex(round, stepIndex);
+      gameData.getProperties().set(Constants.EDIT_MODE, editMode);
+      delegateStates.forEach(
+          (name, state) ->
+              gameData.getDelegateOptional(name).ifPresent(delegate -> delegate.loadState(state)));
+    }
+  }
+
+  /**
+   * Delegate states may refer to the game data, which is written as a marker instead of being
+   * serialized as a whole.
+   */
+  private enum GameDataReference {
+    INSTANCE
+  }
+
+  private static final class JournalOutputStream extends GameObjectOutputStream {
+    JournalOutputStream(final OutputStream output) throws IOException {
+      super(output);
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) {
+      return obj instanceof GameData ? GameDataReference.INSTANCE : super.replaceObject(obj);
+    }
+  }
+
+  private static final class JournalInputStream extends GameObjectInputStream {
+    JournalInputStream(final GameObjectStreamFactory dataSource, final InputStream input)
+        throws IOException {
+      super(dataSource, input);
+    }
+
+    @Override
+    protected Object resolveObject(final Object obj) {
+      return obj == GameDataReference.INSTANCE ? getData() : super.resolveObject(obj);
+    }
+  }
+}
@@ -7,9 +7,11 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Optional;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.triplea.io.IoUtils;
+import org.triplea.java.function.ThrowingSupplier;
 
 /** Responsible to write game data to a file or output bytes. */
 @Slf4j
@@ -39,14 +41,46 @@ public class GameDataWriter {
     }
   }
 
-  // error prone is detecting the identical boolean condition as an error, when it's
-  // intentional and is actually a retry.
-  @SuppressWarnings("IdentityBinaryExpression")
+  /**
+   * Returns an uncompressed snapshot of the game data, see {@link
+   * GameDataManager#saveGameSnapshot(GameData)}, or empty if the delegate execution could not be
+   * blocked or the game data could not be serialized.
+   */
+  public static Optional<SaveGameSnapshot> writeSnapshot(
+      final GameData gameData, final DelegateExecutionManager delegateExecutionManager) {
+    try {
+      return writeWhileDelegateExecutionIsBlocked(
+          () -> GameDataManager.saveGameSnapshot(gameData), delegateExecutionManager);
+    } catch (final IOException e) {
+      log.error("Failed to take a snapshot of the game", e);
+      return Optional.empty();
+    }
+  }
+
   private static void writeToOutputStream(
       final GameData gameData,
       final OutputStream out,
       final DelegateExecutionManager delegateExecutionManager)
       throws IOException {
+    writeWhileDelegateExecutionIsBlocked(
+        () -> {
+          GameDataManager.saveGame(out, gameData);
+          return true;
+        },
+        delegateExecutionManager);
+  }
+
+  /**
+   * Returns the result of the writer, which is called while the delegate execution is blocked, or
+   * empty if the delegate execution could not be blocked.
+   */
+  // error prone is detecting the identical boolean condition as an error, when it's
+  // intentional and is actually a retry.
+  @SuppressWarnings("IdentityBinaryExpression")
+  static <T> Optional<T> writeWhileDelegateExecutionIsBlocked(
+      final ThrowingSupplier<T, IOException> writer,
+      final DelegateExecutionManager delegateExecutionManager)
+      throws IOException {
     final String errorMessage = "Error saving game.. ";
 
     try {
@@ -55,15 +89,15 @@ public class GameDataWriter {
       if (!delegateExecutionManager.blockDelegateExecution(6000)
           && !delegateExecutionManager.blockDelegateExecution(6000)) {
         log.error(errorMessage + " could not lock delegate execution");
-        return;
+        return Optional.empty();
       }
     } catch (final InterruptedException e) {
       Thread.currentThread().interrupt();
-      return;
+      return Optional.empty();
     }
 
     try {
-      GameDataManager.saveGame(out, gameData);
+      return Optional.of(writer.get());
     } finally {
       delegateExecutionManager.resumeDelegateExecution();
     }
@@ -0,0 +1,255 @@
+package games.strategy.engine.framework.save.game;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.data.GameSequence;
+import games.strategy.engine.data.GameStep;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.triplea.config.product.ProductVersionReader;
+
+/**
+ * What a listing of saved games shows about a saved game, without loading it.
+ *
+ * <p>The metadata is written uncompressed at the start of the saved game, in the extra field of an
+ * empty first gzip member. Gzip readers skip the extra field and empty members, so the saved game
+ * is still loaded as before, also by older versions. {@link #read(Path)} only reads this header.
+ * Saved games that were written before the header was introduced have no metadata.
+ *
+ * @param mapName The name of the map, which also locates the thumbnail of the map.
+ * @param journalCheckpoint Whether the saved game is the checkpoint of a {@link ChangeJournal},
+ *     which is continued in the journal next to its file.
+ */
+@Slf4j
+public record SaveGameMetadata(
+    @Nullable String gameName,
+    String mapName,
+    int round,
+    @Nullable String stepName,
+    @Nullable String stepDisplayName,
+    @Nullable String currentPlayer,
+    List<String> players,
+    String engineVersion,
+    Instant savedAt,
+    boolean journalCheckpoint) {
+  /** The maximum number of bytes that {@link #read(InputStream)} consumes. */
+  public static final int MAX_HEADER_LENGTH = 12 + 0xffff;
+
+  private static final int FORMAT_VERSION = 1;
+  private static final int GZIP_MAGIC_1 = 0x1f;
+  private static final int GZIP_MAGIC_2 = 0x8b;
+  private static final int DEFLATE = 8;
+  private static final int FEXTRA = 4;
+  private static final int OS_UNKNOWN = 255;
+  private static final int SUBFIELD_ID_1 = 'T';
+  private static final int SUBFIELD_ID_2 = 'M';
+  // the extra field holds the subfield id, the subfield length and the metadata
+  private static final int MAX_LENGTH = 0xffff - 4;
+  /** A final deflate block without any data and the crc and size of no data. */
+  private static final byte[] EMPTY_MEMBER_END = {3, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+
+  public SaveGameMetadata {
+    players = List.copyOf(players);
+  }
+
+  /** Returns the metadata of the game data, which must not change while this method runs. */
+  public static SaveGameMetadata of(final GameData gameData) {
+    final GameSequence sequence = gameData.getSequence();
+    final GameStep step = sequence.size() == 0 ? null : sequence.getStep();
+    final GamePlayer player = step == null ? null : step.getPlayerId();
+    return new SaveGameMetadata(
+        gameData.getGameName(),
+        gameData.getMapName(),
+        sequence.getRound(),
+        step == null ? null : step.getName(),
+        step == null ? null : step.getDisplayName(),
+        player == null ? null : player.getName(),
+        gameData.getPlayerList().getPlayers().stream().map(GamePlayer::getName).toList(),
+        ProductVersionReader.getCurrentVersion().toString(),
+        Instant.now(),
+        false);
+  }
+
+  public SaveGameMetadata asJournalCheckpoint() {
+    return new SaveGameMetadata(
+        gameName,
+        mapName,
+        round,
+        stepName,
+        stepDisplayName,
+        currentPlayer,
+        players,
+        engineVersion,
+        savedAt,
+        true);
+  }
+
+  /**
+   * Reads the metadata from the header of the saved game.
+   *
+   * @return The metadata or empty if the saved game has no metadata or can't be read.
+   */
+  public static Optional<SaveGameMetadata> read(final Path file) {
+    try (InputStream is = new BufferedInputStream(Files.newInputStream(file))) {
+      return read(is);
+    } catch (final IOException e) {
+      log.warn("Failed to read the metadata of the saved game: " + file.toAbsolutePath(), e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Reads the metadata from the header of the saved game. Only the header is consumed from the
+   * stream.
+   *
+   * @return The metadata or empty if the saved game has no metadata.
+   * @throws IOException If the saved game can't be read.
+   */
+  public static Optional<SaveGameMetadata> read(final InputStream is) throws IOException {
+    final DataInputStream in = new DataInputStream(is);
+    if (in.readUnsignedByte() != GZIP_MAGIC_1 || in.readUnsignedByte() != GZIP_MAGIC_2) {
+      throw new IOException("Not a saved game");
+    }
+    // compression method
+    in.skipNBytes(1);
+    final int flags = in.readUnsignedByte();
+    if ((flags & FEXTRA) == 0) {
+      return Optional.empty();
+    }
+    // modification time, extra flags and operating system
+    in.skipNBytes(6);
+    int remaining = readUnsignedShort(in);
+    while (remaining >= 4) {
+      final int id1 = in.readUnsignedByte();
+      final int id2 = in.readUnsignedByte();
+      final int length = readUnsignedShort(in);
+      if (id1 == SUBFIELD_ID_1 && id2 == SUBFIELD_ID_2) {
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return fromBytes(bytes);
+      }
+      in.skipNBytes(length);
+      remaining -= 4 + length;
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Writes the metadata as an empty gzip member, which must be followed by the gzip members of the
+   * saved game. Writes nothing if the metadata is too large for the header.
+   */
+  public void write(final OutputStream out) throws IOException {
+    final byte[] bytes = toBytes();
+    if (bytes.length > MAX_LENGTH) {
+      log.warn("The metadata of the saved game is too large, saving the game without it");
+      return;
+    }
+    final DataOutputStream header = new DataOutputStream(out);
+    header.writeByte(GZIP_MAGIC_1);
+    header.writeByte(GZIP_MAGIC_2);
+    header.writeByte(DEFLATE);
+    header.writeByte(FEXTRA);
+    // no modification time and no extra flags
+    header.writeInt(0);
+    header.writeByte(0);
+    header.writeByte(OS_UNKNOWN);
+    writeUnsignedShort(header, 4 + bytes.length);
+    header.writeByte(SUBFIELD_ID_1);
+    header.writeByte(SUBFIELD_ID_2);
+    writeUnsignedShort(header, bytes.length);
+    header.write(bytes);
+    header.write(EMPTY_MEMBER_END);
+    header.flush();
+  }
+
+  /** Reads an unsigned short in the little endian byte order of gzip. */
+  private static int readUnsignedShort(final DataInputStream in) throws IOException {
+    return Short.toUnsignedInt(Short.reverseBytes(in.readShort()));
+  }
+
+  /** Writes an unsigned short in the little endian byte order of gzip. */
+  private static void writeUnsignedShort(final DataOutputStream out, final int value)
+      throws IOException {
+    out.writeShort(Short.reverseBytes((short) value));
+  }
+
+  private byte[] toBytes() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(FORMAT_VERSION);
+      writeNullableString(out, gameName);
+      out.writeUTF(mapName);
+      out.writeInt(round);
+      writeNullableString(out, stepName);
+      writeNullableString(out, stepDisplayName);
+      writeNullableString(out, currentPlayer);
+      out.writeInt(players.size());
+      for (final String player : players) {
+        out.writeUTF(player);
+      }
+      out.writeUTF(engineVersion);
+      out.writeLong(savedAt.toEpochMilli());
+      out.writeBoolean(journalCheckpoint);
+    }
+    return bytes.toByteArray();
+  }
+
+  /** Returns empty if the metadata was written in a newer format. */
+  private static Optional<SaveGameMetadata> fromBytes(final byte[] bytes) throws IOException {
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+      if (in.readInt() != FORMAT_VERSION) {
+        return Optional.empty();
+      }
+      final String gameName = readNullableString(in);
+      final String mapName = in.readUTF();
+      final int round = in.readInt();
+      final String stepName = readNullableString(in);
+      final String stepDisplayName = readNullableString(in);
+      final String currentPlayer = readNullableString(in);
+      final int playerCount = in.readInt();
+      final List<String> players = new ArrayList<>(playerCount);
+      for (int i = 0; i < playerCount; i++) {
+        players.add(in.readUTF());
+      }
+      return Optional.of(
+          new SaveGameMetadata(
+              gameName,
+              mapName,
+              round,
+              stepName,
+              stepDisplayName,
+              currentPlayer,
+              players,
+              in.readUTF(),
+              Instant.ofEpochMilli(in.readLong()),
+              in.readBoolean()));
+    }
+  }
+
+  private static void writeNullableString(
+      final DataOutputStream out, @Nullable final String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+
+  @Nullable
+  private static String readNullableString(final DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+}
@@ -0,0 +1,12 @@
+package games.strategy.engine.framework.save.game;
+
+import games.strategy.engine.framework.GameDataManager;
+import java.io.OutputStream;
+
+/**
+ * A saved game that is not compressed yet, see {@link GameDataManager#saveGameSnapshot}. Writing it
+ * with {@link GameDataManager#saveSnapshot(OutputStream, SaveGameSnapshot)} creates the saved game.
+ *
+ * @param gameData The serialized game data.
+ */
+public record SaveGameSnapshot(SaveGameMetadata metadata, byte[] gameData) {}
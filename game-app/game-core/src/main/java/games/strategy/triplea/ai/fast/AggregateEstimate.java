@@ -22,7 +22,6 @@ class AggregateEstimate extends AggregateResults {
       final double winPercentage,
       final Collection<Unit> remainingAttackingUnits,
       final Collection<Unit> remainingDefendingUnits) {
-    super(1);
     this.battleRoundsFought = battleRoundsFought;
     this.winPercentage = winPercentage;
     this.remainingAttackingUnits = remainingAttackingUnits;
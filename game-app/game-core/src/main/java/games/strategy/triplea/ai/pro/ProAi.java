@@ -2,14 +2,28 @@ package games.strategy.triplea.ai.pro;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.framework.GameShutdownRegistry;
+import games.strategy.triplea.ai.pro.logging.ProLogger;
 import games.strategy.triplea.odds.calculator.ConcurrentBattleCalculator;
+import games.strategy.triplea.odds.calculator.ExactBattleCalculator;
+import games.strategy.triplea.odds.calculator.TargetPrecision;
 
 public class ProAi extends AbstractProAi {
+  private static final int RESULTS_CACHE_SIZE = 2000;
   // Odds calculator
-  private static final ConcurrentBattleCalculator concurrentCalc = new ConcurrentBattleCalculator();
+  private static final ConcurrentBattleCalculator concurrentCalc =
+      new ConcurrentBattleCalculator(true);
+  // Solves ordinary battles exactly and only simulates the ones it can't model
+  private static final ExactBattleCalculator exactCalc = new ExactBattleCalculator(concurrentCalc);
+
+  static {
+    // lopsided battles don't need the full run count to be judged reliably
+    concurrentCalc.setTargetPrecision(new TargetPrecision(0.05, 3));
+    // the AI evaluates the same battles over and over while planning a phase
+    concurrentCalc.setResultsCacheSize(RESULTS_CACHE_SIZE);
+  }
 
   public ProAi(final String name, final String playerLabel) {
-    super(name, concurrentCalc, new ProData(), playerLabel);
+    super(name, exactCalc, new ProData(), playerLabel);
     // cuncurrentCalc is static so that it can be shared across all ProAi instances
     // at the end of a game, it needs to be cleared up
     GameShutdownRegistry.registerShutdownAction(() -> concurrentCalc.setGameData(null));
@@ -24,6 +38,9 @@ public class ProAi extends AbstractProAi {
 
   @Override
   protected void prepareData(final GameData data) {
+    concurrentCalc
+        .getResultsCacheStats()
+        .ifPresent(stats -> ProLogger.debug("Battle results cache: " + stats));
     concurrentCalc.setGameData(data);
   }
 }
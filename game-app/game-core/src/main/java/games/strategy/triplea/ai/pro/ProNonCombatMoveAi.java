@@ -1432,10 +1432,9 @@ class ProNonCombatMoveAi {
             // TODO: add calculation of transports vs units
             final double territoryValue = proTerritory.getValue();
             final int numUnitsToLoad =
-                CollectionUtils.getMatches(
-                        proTerritory.getAllDefenders(),
-                        ProMatches.unitIsOwnedTransportableUnit(player))
-                    .size();
+                CollectionUtils.countMatches(
+                    proTerritory.getAllDefenders(),
+                    ProMatches.unitIsOwnedTransportableUnit(player));
             final boolean hasUnconqueredFactory =
                 ProMatches.territoryHasInfraFactoryAndIsOwnedLand(player).test(t)
                     && !AbstractMoveDelegate.getBattleTracker(data).wasConquered(t);
@@ -7,6 +7,7 @@ import games.strategy.engine.data.GameState;
 import games.strategy.engine.data.Route;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
 import games.strategy.engine.data.util.BreadthFirstSearch;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.ai.pro.ProData;
@@ -32,7 +33,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import javax.annotation.Nullable;
 import lombok.Getter;
 import org.apache.commons.lang3.mutable.MutableObject;
 import org.triplea.java.collections.CollectionUtils;
@@ -40,6 +45,11 @@ import org.triplea.util.Tuple;
 
 /** Manages info about territories. */
 public class ProTerritoryManager {
+  // enough for the enemies of the largest maps without taking over every core of a server
+  private static final int MAX_ENEMY_OPTIONS_PARALLELISM = 8;
+  private static final ForkJoinPool ENEMY_OPTIONS_POOL =
+      new ForkJoinPool(
+          Math.min(Runtime.getRuntime().availableProcessors(), MAX_ENEMY_OPTIONS_PARALLELISM));
 
   private final ProOddsCalculator calc;
   private final ProData proData;
@@ -518,7 +528,8 @@ public class ProTerritoryManager {
     final List<Territory> enemyTerritories = new ArrayList<>(clearedTerritories);
 
     // Loop through each enemy to determine the maximum number of enemy units that can attack each
-    // territory
+    // territory, every enemy depends on the land territories the previous ones can reach so they
+    // are checked one after another
     for (final GamePlayer enemyPlayer : enemyPlayers) {
       final List<Territory> enemyUnitTerritories =
           CollectionUtils.getMatches(
@@ -675,41 +686,89 @@ public class ProTerritoryManager {
 
   private static ProOtherMoveOptions findEnemyDefendOptions(
       final ProData proData, final GamePlayer player) {
-    final GameState data = proData.getData();
+    final GameData data = proData.getData();
 
     // Get enemy players in order of turn
     final List<GamePlayer> enemyPlayers = ProUtils.getEnemyPlayersInTurnOrder(player);
-    final List<Map<Territory, ProTerritory>> enemyMoveMaps = new ArrayList<>();
-    final List<Territory> clearedTerritories =
-        CollectionUtils.getMatches(
-            data.getMap().getTerritories(), Matches.isTerritoryAllied(player));
-
-    // Loop through each enemy to determine the maximum number of enemy units that can defend each
-    // territory
-    for (final GamePlayer enemyPlayer : enemyPlayers) {
-      final List<Territory> enemyUnitTerritories =
+    final List<Map<Territory, ProTerritory>> enemyMoveMaps;
+    try (GameData.Unlocker ignored = data.acquireReadLock()) {
+      final List<Territory> clearedTerritories =
           CollectionUtils.getMatches(
-              data.getMap().getTerritories(), Matches.territoryHasUnitsOwnedBy(enemyPlayer));
-      final Map<Territory, ProTerritory> moveMap = new HashMap<>();
-      final Map<Unit, Set<Territory>> unitMoveMap = new HashMap<>();
-      final Map<Unit, Set<Territory>> transportMoveMap = new HashMap<>();
-      final List<ProTransport> transportMapList = new ArrayList<>();
-      enemyMoveMaps.add(moveMap);
-      findDefendOptions(
-          proData,
-          enemyPlayer,
-          enemyUnitTerritories,
-          moveMap,
-          unitMoveMap,
-          transportMoveMap,
-          transportMapList,
-          clearedTerritories,
-          true);
+              data.getMap().getTerritories(), Matches.isTerritoryAllied(player));
+
+      // Determine the maximum number of enemy units that can defend each territory, the enemies
+      // don't depend on each other so they are checked concurrently
+      enemyMoveMaps =
+          mapConcurrently(
+              enemyPlayers,
+              enemyPlayer -> findEnemyDefendOptions(proData, enemyPlayer, clearedTerritories));
     }
 
     return new ProOtherMoveOptions(enemyMoveMaps, player, false);
   }
 
+  private static Map<Territory, ProTerritory> findEnemyDefendOptions(
+      final ProData proData,
+      final GamePlayer enemyPlayer,
+      final List<Territory> clearedTerritories) {
+    final List<Territory> enemyUnitTerritories =
+        CollectionUtils.getMatches(
+            proData.getData().getMap().getTerritories(),
+            Matches.territoryHasUnitsOwnedBy(enemyPlayer));
+    final Map<Territory, ProTerritory> moveMap = new HashMap<>();
+    final Map<Unit, Set<Territory>> unitMoveMap = new HashMap<>();
+    final Map<Unit, Set<Territory>> transportMoveMap = new HashMap<>();
+    final List<ProTransport> transportMapList = new ArrayList<>();
+    findDefendOptions(
+        proData,
+        enemyPlayer,
+        enemyUnitTerritories,
+        moveMap,
+        unitMoveMap,
+        transportMoveMap,
+        transportMapList,
+        clearedTerritories,
+        true);
+    return moveMap;
+  }
+
+  /**
+   * Applies the function to every player on the enemy options pool and returns the results in the
+   * order of the players, so the result doesn't depend on the order in which the tasks finish. The
+   * function must only read the game data and shared state of the AI. The caller has to hold the
+   * read lock of the game data for the tasks, they can't acquire it themselves as a waiting writer
+   * would block them while the caller waits for them.
+   */
+  private static <T> List<T> mapConcurrently(
+      final List<GamePlayer> players, final Function<GamePlayer, T> function) {
+    final List<T> results = new ArrayList<>(players.size());
+    if (players.size() < 2 || ENEMY_OPTIONS_POOL.getParallelism() < 2) {
+      players.forEach(player -> results.add(function.apply(player)));
+      return results;
+    }
+    final List<ForkJoinTask<T>> tasks = new ArrayList<>(players.size());
+    for (final GamePlayer player : players) {
+      tasks.add(ENEMY_OPTIONS_POOL.submit(() -> function.apply(player)));
+    }
+    // wait for every task before failing, none of them may outlive the read lock of the caller
+    RuntimeException failure = null;
+    for (final ForkJoinTask<T> task : tasks) {
+      try {
+        results.add(task.join());
+      } catch (final RuntimeException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return results;
+  }
+
   private static void findNavalMoveOptions(
       final ProData proData,
       final GamePlayer player,
@@ -732,6 +791,7 @@ public class ProTerritoryManager {
       // Find my naval units that have movement left
       final List<Unit> mySeaUnits =
           myUnitTerritory.getMatches(ProMatches.unitCanBeMovedAndIsOwnedSea(player, isCombatMove));
+      final Map<UnitMoveClass, List<Territory>> moveTerritoriesByClass = new HashMap<>();
 
       // Check each sea unit individually since they can have different ranges
       for (final Unit mySeaUnit : mySeaUnits) {
@@ -748,30 +808,41 @@ public class ProTerritoryManager {
         final BigDecimal range =
             getUnitRange(mySeaUnit, myUnitTerritory, player, isCheckingEnemyAttacks);
 
-        // Find list of potential territories to move to
-        final Set<Territory> possibleMoveTerritories =
-            gameMap.getNeighborsByMovementCost(
-                myUnitTerritory, range, ProMatches.territoryCanMoveSeaUnits(player, isCombatMove));
-        possibleMoveTerritories.add(myUnitTerritory);
-        final Collection<Territory> potentialTerritories =
-            CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch);
-        if (!isCombatMove && !potentialTerritories.contains(myUnitTerritory)) {
-          potentialTerritories.add(myUnitTerritory);
-        }
-
-        for (final Territory potentialTerritory : potentialTerritories) {
-          // Find route over water
-          final Optional<Route> optionalRoute =
-              gameMap.getRouteForUnit(
-                  myUnitTerritory, potentialTerritory, canMove, mySeaUnit, player);
-          if (optionalRoute.isEmpty()) {
-            continue;
+        final UnitMoveClass moveClass = UnitMoveClass.of(mySeaUnit, range, null);
+        List<Territory> moveTerritories = moveTerritoriesByClass.get(moveClass);
+        if (moveTerritories == null) {
+          // Find list of potential territories to move to
+          final Set<Territory> possibleMoveTerritories =
+              gameMap.getNeighborsByMovementCost(
+                  myUnitTerritory,
+                  range,
+                  ProMatches.territoryCanMoveSeaUnits(player, isCombatMove));
+          possibleMoveTerritories.add(myUnitTerritory);
+          final Collection<Territory> potentialTerritories =
+              CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch);
+          if (!isCombatMove && !potentialTerritories.contains(myUnitTerritory)) {
+            potentialTerritories.add(myUnitTerritory);
           }
-          final BigDecimal myRouteLength = optionalRoute.get().getMovementCost(mySeaUnit);
-          if (myRouteLength.compareTo(range) > 0) {
-            continue;
+
+          moveTerritories = new ArrayList<>();
+          for (final Territory potentialTerritory : potentialTerritories) {
+            // Find route over water
+            final Optional<Route> optionalRoute =
+                gameMap.getRouteForUnit(
+                    myUnitTerritory, potentialTerritory, canMove, mySeaUnit, player);
+            if (optionalRoute.isEmpty()) {
+              continue;
+            }
+            final BigDecimal myRouteLength = optionalRoute.get().getMovementCost(mySeaUnit);
+            if (myRouteLength.compareTo(range) > 0) {
+              continue;
+            }
+            moveTerritories.add(potentialTerritory);
           }
+          moveTerritoriesByClass.put(moveClass, moveTerritories);
+        }
 
+        for (final Territory potentialTerritory : moveTerritories) {
           // Populate territories with sea unit
           proData.getProTerritory(moveMap, potentialTerritory).addMaxUnit(mySeaUnit);
 
@@ -809,34 +880,44 @@ public class ProTerritoryManager {
       // Find my land units that have movement left
       final List<Unit> myLandUnits =
           myUnitTerritory.getMatches(ProMatches.unitCanBeMovedAndIsOwnedLand(player, isCombatMove));
+      final Map<UnitMoveClass, List<Territory>> moveTerritoriesByClass = new HashMap<>();
 
       // Check each land unit individually since they can have different ranges
       for (final Unit u : myLandUnits) {
         final Territory startTerritory = proData.getUnitTerritory(u);
         // Should this use getUnitRange()?
         final BigDecimal range = u.getMovementLeft();
-        final Set<Territory> possibleMoveTerritories =
-            gameMap.getNeighborsByMovementCost(
-                myUnitTerritory,
-                range,
-                isIgnoringRelationships
-                    ? ProMatches.territoryCanPotentiallyMoveSpecificLandUnit(player, u)
-                    : ProMatches.territoryCanMoveSpecificLandUnit(player, isCombatMove, u));
-        possibleMoveTerritories.add(myUnitTerritory);
-        final Collection<Territory> potentialTerritories =
-            CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch);
-        if (!isCombatMove && !potentialTerritories.contains(myUnitTerritory)) {
-          potentialTerritories.add(myUnitTerritory);
-        }
-        final Predicate<Territory> canMove =
-            isCheckingEnemyAttacks
-                ? ProMatches.territoryCanMoveLandUnitsThroughIgnoreEnemyUnits(
-                    player, u, startTerritory, isCombatMove, enemyTerritories, clearedTerritories)
-                : ProMatches.territoryCanMoveLandUnitsThrough(
-                    player, u, startTerritory, isCombatMove, enemyTerritories);
-        for (final Territory t : potentialTerritories) {
+        final UnitMoveClass moveClass = UnitMoveClass.of(u, range, startTerritory);
+        List<Territory> moveTerritories = moveTerritoriesByClass.get(moveClass);
+        if (moveTerritories == null) {
+          final Set<Territory> possibleMoveTerritories =
+              gameMap.getNeighborsByMovementCost(
+                  myUnitTerritory,
+                  range,
+                  isIgnoringRelationships
+                      ? ProMatches.territoryCanPotentiallyMoveSpecificLandUnit(player, u)
+                      : ProMatches.territoryCanMoveSpecificLandUnit(player, isCombatMove, u));
+          possibleMoveTerritories.add(myUnitTerritory);
+          final Collection<Territory> potentialTerritories =
+              CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch);
+          if (!isCombatMove && !potentialTerritories.contains(myUnitTerritory)) {
+            potentialTerritories.add(myUnitTerritory);
+          }
+          final Predicate<Territory> canMove =
+              isCheckingEnemyAttacks
+                  ? ProMatches.territoryCanMoveLandUnitsThroughIgnoreEnemyUnits(
+                      player, u, startTerritory, isCombatMove, enemyTerritories, clearedTerritories)
+                  : ProMatches.territoryCanMoveLandUnitsThrough(
+                      player, u, startTerritory, isCombatMove, enemyTerritories);
           // Find route over land checking whether unit can blitz
-          if (!isLandMoveOption(isCombatMove, player, u, myUnitTerritory, t, range, canMove)) {
+          moveTerritories =
+              CollectionUtils.getMatches(
+                  potentialTerritories,
+                  t -> isLandRouteOption(player, u, myUnitTerritory, t, range, canMove));
+          moveTerritoriesByClass.put(moveClass, moveTerritories);
+        }
+        for (final Territory t : moveTerritories) {
+          if (!canParticipateInCombatMove(isCombatMove, player, u, t)) {
             continue;
           }
 
@@ -857,8 +938,11 @@ public class ProTerritoryManager {
     }
   }
 
-  private static boolean isLandMoveOption(
-      final boolean isCombatMove,
+  /**
+   * Returns true if the unit can reach the territory over land. The result is the same for all
+   * units of the same {@link UnitMoveClass}.
+   */
+  private static boolean isLandRouteOption(
       final GamePlayer player,
       final Unit u,
       final Territory from,
@@ -879,10 +963,11 @@ public class ProTerritoryManager {
       // If blitzing then make sure none of the territories cause blitz ability to be lost
       return false;
     }
-    if (route.getMovementCost(u).compareTo(range) > 0) {
-      return false;
-    }
+    return route.getMovementCost(u).compareTo(range) <= 0;
+  }
 
+  private static boolean canParticipateInCombatMove(
+      final boolean isCombatMove, final GamePlayer player, final Unit u, final Territory to) {
     // Skip units that can't participate in combat during combat moves except for land transports.
     if (isCombatMove && !Matches.unitIsLandTransport().test(u)) {
       Collection<Unit> enemyUnits =
@@ -949,6 +1034,7 @@ public class ProTerritoryManager {
     for (final Territory myUnitTerritory : myUnitTerritories) {
       // Find my air units that have movement left
       final List<Unit> myAirUnits = myUnitTerritory.getMatches(unitMatch);
+      final Map<UnitMoveClass, List<Territory>> moveTerritoriesByClass = new HashMap<>();
 
       // Check each air unit individually since they can have different ranges
       for (final Unit myAirUnit : myAirUnits) {
@@ -956,54 +1042,63 @@ public class ProTerritoryManager {
         final BigDecimal range =
             getUnitRange(myAirUnit, myUnitTerritory, player, isCheckingEnemyAttacks);
 
-        // Find potential territories to move to
-        final Set<Territory> possibleMoveTerritories =
-            gameMap.getNeighborsByMovementCost(myUnitTerritory, range, canMove);
-        possibleMoveTerritories.add(myUnitTerritory);
-        final Set<Territory> potentialTerritories =
-            new HashSet<>(
-                CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch));
-        if (!isCombatMove && Matches.unitCanLandOnCarrier().test(myAirUnit)) {
-          potentialTerritories.addAll(
-              CollectionUtils.getMatches(
-                  possibleMoveTerritories, possibleCarrierTerritories::contains));
-        }
-
-        for (final Territory potentialTerritory : potentialTerritories) {
-          final Optional<Route> optionalRoute =
-              gameMap.getRouteForUnit(
-                  myUnitTerritory, potentialTerritory, canFlyOverMatch, myAirUnit, player);
-          if (optionalRoute.isEmpty()) {
-            continue;
-          }
-          final BigDecimal myRouteLength = optionalRoute.get().getMovementCost(myAirUnit);
-          final BigDecimal remainingMoves = range.subtract(myRouteLength);
-          if (remainingMoves.compareTo(BigDecimal.ZERO) < 0) {
-            continue;
+        final UnitMoveClass moveClass = UnitMoveClass.of(myAirUnit, range, null);
+        List<Territory> moveTerritories = moveTerritoriesByClass.get(moveClass);
+        if (moveTerritories == null) {
+          // Find potential territories to move to
+          final Set<Territory> possibleMoveTerritories =
+              gameMap.getNeighborsByMovementCost(myUnitTerritory, range, canMove);
+          possibleMoveTerritories.add(myUnitTerritory);
+          final Set<Territory> potentialTerritories =
+              new HashSet<>(
+                  CollectionUtils.getMatches(possibleMoveTerritories, moveToTerritoryMatch));
+          if (!isCombatMove && Matches.unitCanLandOnCarrier().test(myAirUnit)) {
+            potentialTerritories.addAll(
+                CollectionUtils.getMatches(
+                    possibleMoveTerritories, possibleCarrierTerritories::contains));
           }
 
-          // Check if unit can land
-          if (isCombatMove
-              && (remainingMoves.compareTo(myRouteLength) < 0 || myUnitTerritory.isWater())) {
-            final Set<Territory> possibleLandingTerritories =
-                gameMap.getNeighborsByMovementCost(
-                    potentialTerritory, remainingMoves, canFlyOverMatch);
-            final List<Territory> landingTerritories =
-                CollectionUtils.getMatches(
-                    possibleLandingTerritories,
-                    ProMatches.territoryCanLandAirUnits(
-                        player, isCombatMove, enemyTerritories, alliedTerritories));
-            List<Territory> carrierTerritories = List.of();
-            if (Matches.unitCanLandOnCarrier().test(myAirUnit)) {
-              carrierTerritories =
-                  CollectionUtils.getMatches(
-                      possibleLandingTerritories, possibleCarrierTerritories::contains);
+          moveTerritories = new ArrayList<>();
+          for (final Territory potentialTerritory : potentialTerritories) {
+            final Optional<Route> optionalRoute =
+                gameMap.getRouteForUnit(
+                    myUnitTerritory, potentialTerritory, canFlyOverMatch, myAirUnit, player);
+            if (optionalRoute.isEmpty()) {
+              continue;
             }
-            if (landingTerritories.isEmpty() && carrierTerritories.isEmpty()) {
+            final BigDecimal myRouteLength = optionalRoute.get().getMovementCost(myAirUnit);
+            final BigDecimal remainingMoves = range.subtract(myRouteLength);
+            if (remainingMoves.compareTo(BigDecimal.ZERO) < 0) {
               continue;
             }
+
+            // Check if unit can land
+            if (isCombatMove
+                && (remainingMoves.compareTo(myRouteLength) < 0 || myUnitTerritory.isWater())) {
+              final Set<Territory> possibleLandingTerritories =
+                  gameMap.getNeighborsByMovementCost(
+                      potentialTerritory, remainingMoves, canFlyOverMatch);
+              final List<Territory> landingTerritories =
+                  CollectionUtils.getMatches(
+                      possibleLandingTerritories,
+                      ProMatches.territoryCanLandAirUnits(
+                          player, isCombatMove, enemyTerritories, alliedTerritories));
+              List<Territory> carrierTerritories = List.of();
+              if (Matches.unitCanLandOnCarrier().test(myAirUnit)) {
+                carrierTerritories =
+                    CollectionUtils.getMatches(
+                        possibleLandingTerritories, possibleCarrierTerritories::contains);
+              }
+              if (landingTerritories.isEmpty() && carrierTerritories.isEmpty()) {
+                continue;
+              }
+            }
+            moveTerritories.add(potentialTerritory);
           }
+          moveTerritoriesByClass.put(moveClass, moveTerritories);
+        }
 
+        for (final Territory potentialTerritory : moveTerritories) {
           // Populate enemy territories with air unit
           proData.getProTerritory(moveMap, potentialTerritory).addMaxUnit(myAirUnit);
 
@@ -1257,6 +1352,20 @@ public class ProTerritoryManager {
     return unit.getMovementLeft();
   }
 
+  /**
+   * The units of a territory that can reach the same territories, because the route finding and the
+   * move conditions only look at the type of a unit, its range and the territory it started its
+   * turn in. Stacks of equal units are checked once per class instead of once per unit.
+   */
+  private record UnitMoveClass(
+      UnitType unitType, BigDecimal range, @Nullable Territory startTerritory) {
+    private static UnitMoveClass of(
+        final Unit unit, final BigDecimal range, @Nullable final Territory startTerritory) {
+      // BigDecimal.equals compares the scale, e.g. 1 and 1.0 aren't equal
+      return new UnitMoveClass(unit.getType(), range.stripTrailingZeros(), startTerritory);
+    }
+  }
+
   public Optional<Territory> findClosestTerritory(
       Collection<Territory> fromTerritories,
       Predicate<Territory> canMove,
@@ -68,10 +68,15 @@ import org.triplea.util.Tuple;
  * <p>You can write code like,
  *
  * <pre>
- * boolean hasLand = Match.anyMatch(someCollection, Matches.unitIsAir());
+ * boolean hasLand = CollectionUtils.anyMatch(someCollection, Matches.unitIsAir());
  * </pre>
  *
  * <p>The benefits should be obvious to any right minded person.
+ *
+ * <p>Matchers without parameters return lambdas that don't capture anything, which the JVM creates
+ * once and reuses, so they can be called in loops without allocating. Combining them with {@code
+ * and}, {@code or} or {@code negate} creates new predicates on every call, so matchers that are
+ * combinations of others test them directly instead.
  */
 @UtilityClass
 public final class Matches {
@@ -88,7 +93,7 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitHasNotTakenAnyDamage() {
-    return unitHasTakenSomeDamage().negate();
+    return unit -> !unitHasTakenSomeDamage().test(unit);
   }
 
   public static Predicate<Unit> unitIsSea() {
@@ -96,7 +101,10 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitHasSubBattleAbilities() {
-    return unitCanEvade().or(unitIsFirstStrike()).or(unitCanNotBeTargetedByAll());
+    return unit ->
+        unitCanEvade().test(unit)
+            || unitIsFirstStrike().test(unit)
+            || unitCanNotBeTargetedByAll().test(unit);
   }
 
   public static Predicate<Unit> unitCanEvade() {
@@ -144,7 +152,7 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitIsNotCombatSeaTransport() {
-    return unitIsCombatSeaTransport().negate();
+    return unit -> !unitIsCombatSeaTransport().test(unit);
   }
 
   public static Predicate<Unit> unitIsSeaTransportButNotCombatSeaTransport() {
@@ -177,7 +185,7 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitIsNotSeaTransport() {
-    return unitIsSeaTransport().negate();
+    return unit -> !unitIsSeaTransport().test(unit);
   }
 
   public static Predicate<Unit> unitIsSeaTransportAndNotDestroyer() {
@@ -200,7 +208,7 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitHasNotMoved() {
-    return unitHasMoved().negate();
+    return unit -> !unitHasMoved().test(unit);
   }
 
   public static Predicate<Unit> unitHasNotBeenChargedFlatFuelCost() {
@@ -390,7 +398,7 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitHasNotTakenAnyBombingUnitDamage() {
-    return unitHasTakenSomeBombingUnitDamage().negate();
+    return unit -> !unitHasTakenSomeBombingUnitDamage().test(unit);
   }
 
   public static Predicate<Unit> unitIsDisabled() {
@@ -418,7 +426,7 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitIsNotDisabled() {
-    return unitIsDisabled().negate();
+    return unit -> !unitIsDisabled().test(unit);
   }
 
   public static Predicate<Unit> unitCanDieFromReachingMaxDamage() {
@@ -437,7 +445,7 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitIsNotInfrastructure() {
-    return unitIsInfrastructure().negate();
+    return unit -> !unitIsInfrastructure().test(unit);
   }
 
   /**
@@ -498,11 +506,11 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitIsLandTransportWithCapacity() {
-    return unit -> unitIsLandTransport().and(unitCanTransport()).test(unit);
+    return unit -> unitIsLandTransport().test(unit) && unitCanTransport().test(unit);
   }
 
   public static Predicate<Unit> unitIsLandTransportWithoutCapacity() {
-    return unit -> unitIsLandTransport().and(unitCanTransport().negate()).test(unit);
+    return unit -> unitIsLandTransport().test(unit) && !unitCanTransport().test(unit);
   }
 
   public static Predicate<Unit> unitIsNotInfrastructureAndNotCapturedOnEntering(
@@ -569,7 +577,7 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitWasNotAmphibious() {
-    return unitWasAmphibious().negate();
+    return unit -> !unitWasAmphibious().test(unit);
   }
 
   public static Predicate<Unit> unitWasInCombat() {
@@ -585,7 +593,7 @@ public final class Matches {
   }
 
   static Predicate<Unit> unitWasNotLoadedThisTurn() {
-    return unitWasLoadedThisTurn().negate();
+    return unit -> !unitWasLoadedThisTurn().test(unit);
   }
 
   public static Predicate<Unit> unitCanTransport() {
@@ -621,7 +629,7 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitCanMoveDuringCombatMove() {
-    return unitCanNotMoveDuringCombatMove().negate();
+    return unit -> !unitCanNotMoveDuringCombatMove().test(unit);
   }
 
   private static Predicate<Unit> unitIsAaThatCanHitTheseUnits(
@@ -744,7 +752,7 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitIsNotAa() {
-    return unitIsAaForAnything().negate();
+    return unit -> !unitIsAaForAnything().test(unit);
   }
 
   public static Predicate<Unit> unitMaxAaAttacksIsInfinite() {
@@ -806,7 +814,7 @@ public final class Matches {
   }
 
   public static Predicate<Territory> territoryIsLand() {
-    return territoryIsWater().negate();
+    return t -> !territoryIsWater().test(t);
   }
 
   public static Predicate<Territory> territoryIsIsland() {
@@ -934,11 +942,11 @@ public final class Matches {
   }
 
   public static Predicate<Territory> territoryIsNeutralButNotWater() {
-    return isTerritoryNeutral().and(territoryIsWater().negate());
+    return t -> isTerritoryNeutral().test(t) && !territoryIsWater().test(t);
   }
 
   public static Predicate<Territory> territoryIsUnownedWater() {
-    return isTerritoryNeutral().and(territoryIsWater());
+    return t -> isTerritoryNeutral().test(t) && territoryIsWater().test(t);
   }
 
   public static Predicate<Territory> territoryIsImpassable() {
@@ -958,7 +966,7 @@ public final class Matches {
   }
 
   public static Predicate<Territory> territoryIsNotImpassable() {
-    return territoryIsImpassable().negate();
+    return t -> !territoryIsImpassable().test(t);
   }
 
   public static Predicate<Territory> seaCanMoveOver(final GamePlayer player) {
@@ -999,11 +1007,11 @@ public final class Matches {
   }
 
   private static Predicate<Territory> territoryIsImpassableToLandUnits(final GamePlayer player) {
-    return t -> t.isWater() || territoryIsPassableAndNotRestricted(player).negate().test(t);
+    return t -> t.isWater() || !territoryIsPassableAndNotRestricted(player).test(t);
   }
 
   public static Predicate<Territory> territoryIsNotImpassableToLandUnits(final GamePlayer player) {
-    return t -> territoryIsImpassableToLandUnits(player).negate().test(t);
+    return t -> !territoryIsImpassableToLandUnits(player).test(t);
   }
 
   /**
@@ -1300,7 +1308,7 @@ public final class Matches {
   }
 
   public static Predicate<Territory> territoryHasUnitsOwnedBy(final GamePlayer player) {
-    return t -> t.anyUnitsMatch(unitIsOwnedBy(player));
+    return t -> t.getUnitCollection().hasUnitsOwnedBy(player);
   }
 
   public static Predicate<Territory> territoryHasUnitsThatMatch(final Predicate<Unit> cond) {
@@ -1312,11 +1320,13 @@ public final class Matches {
   }
 
   public static Predicate<Territory> territoryHasNoEnemyUnits(final GamePlayer player) {
-    return t -> !t.anyUnitsMatch(enemyUnit(player));
+    return t -> !t.getUnitCollection().anyOwnerMatches(player::isAtWar);
   }
 
   public static Predicate<Territory> territoryHasAlliedUnits(final GamePlayer player) {
-    return t -> t.anyUnitsMatch(alliedUnit(player));
+    return t ->
+        t.getUnitCollection()
+            .anyOwnerMatches(owner -> owner.equals(player) || player.isAllied(owner));
   }
 
   static Predicate<Territory> territoryHasNonSubmergedEnemyUnits(final GamePlayer player) {
@@ -1332,7 +1342,7 @@ public final class Matches {
   }
 
   public static Predicate<Territory> territoryHasEnemyUnits(final GamePlayer player) {
-    return t -> t.anyUnitsMatch(enemyUnit(player));
+    return t -> t.getUnitCollection().anyOwnerMatches(player::isAtWar);
   }
 
   public static Predicate<Territory> territoryIsNotUnownedWater() {
@@ -1406,15 +1416,15 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitIsLand() {
-    return unitIsNotSea().and(unitIsNotAir());
+    return unit -> unitIsNotSea().test(unit) && unitIsNotAir().test(unit);
   }
 
   public static Predicate<UnitType> unitTypeIsLand() {
-    return unitTypeIsNotSea().and(unitTypeIsNotAir());
+    return type -> unitTypeIsNotSea().test(type) && unitTypeIsNotAir().test(type);
   }
 
   public static Predicate<Unit> unitIsNotLand() {
-    return unitIsLand().negate();
+    return unit -> !unitIsLand().test(unit);
   }
 
   public static Predicate<Unit> unitIsOfType(final UnitType type) {
@@ -1547,7 +1557,7 @@ public final class Matches {
   private static Predicate<Unit> unitCanGiveBonusMovement() {
     return unit ->
         !unit.getUnitAttachment().getGivesMovement().isEmpty()
-            && unitIsBeingTransported().negate().test(unit);
+            && !unitIsBeingTransported().test(unit);
   }
 
   static Predicate<Unit> unitCanGiveBonusMovementToThisUnit(final Unit unitWhichWillGetBonus) {
@@ -1725,15 +1735,15 @@ public final class Matches {
   }
 
   public static Predicate<Unit> unitIsNotConstruction() {
-    return unitIsConstruction().negate();
+    return unit -> !unitIsConstruction().test(unit);
   }
 
   public static Predicate<Unit> unitCanProduceUnitsAndIsInfrastructure() {
-    return unitCanProduceUnits().and(unitIsInfrastructure());
+    return unit -> unitCanProduceUnits().test(unit) && unitIsInfrastructure().test(unit);
   }
 
   public static Predicate<Unit> unitCanProduceUnitsAndCanBeDamaged() {
-    return unitCanProduceUnits().and(unitCanBeDamaged());
+    return unit -> unitCanProduceUnits().test(unit) && unitCanBeDamaged().test(unit);
   }
 
   /**
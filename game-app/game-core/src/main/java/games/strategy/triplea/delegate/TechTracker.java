@@ -10,12 +10,14 @@ import games.strategy.engine.data.changefactory.ChangeFactory;
 import games.strategy.engine.delegate.IDelegateBridge;
 import games.strategy.triplea.attachments.TechAbilityAttachment;
 import games.strategy.triplea.attachments.TechAttachment;
+import games.strategy.triplea.delegate.UnitTechBonusTable.UnitBonus;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BooleanSupplier;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.function.ToIntFunction;
@@ -37,87 +39,63 @@ public class TechTracker {
   }
 
   private final Map<Key, Object> cache = new ConcurrentHashMap<>();
+  private final AtomicReference<UnitTechBonusTable> unitBonusTable = new AtomicReference<>();
 
   public void clearCache() {
     cache.clear();
+    unitBonusTable.set(null);
   }
 
   public int getAirDefenseBonus(GamePlayer player, UnitType type) {
-    final Supplier<Integer> getter =
-        () -> getSumOfBonuses(TechAbilityAttachment::getAirDefenseBonus, type, player);
-    return getCached(player, type, "getAirDefenseBonus", getter);
+    return getBonus(player, type, UnitBonus.AIR_DEFENSE);
   }
 
   public int getAirAttackBonus(GamePlayer player, UnitType type) {
-    final Supplier<Integer> getter =
-        () -> getSumOfBonuses(TechAbilityAttachment::getAirAttackBonus, type, player);
-    return getCached(player, type, "getAirAttackBonus", getter);
+    return getBonus(player, type, UnitBonus.AIR_ATTACK);
   }
 
   public int getMovementBonus(GamePlayer player, UnitType type) {
-    final Supplier<Integer> getter =
-        () -> getSumOfBonuses(TechAbilityAttachment::getMovementBonus, type, player);
-    return getCached(player, type, "getMovementBonus", getter);
+    return getBonus(player, type, UnitBonus.MOVEMENT);
   }
 
   public int getAttackBonus(GamePlayer player, UnitType type) {
-    final Supplier<Integer> getter =
-        () -> getSumOfBonuses(TechAbilityAttachment::getAttackBonus, type, player);
-    return getCached(player, type, "getAttackBonus", getter);
+    return getBonus(player, type, UnitBonus.ATTACK);
   }
 
   public int getAttackRollsBonus(GamePlayer player, UnitType type) {
-    final Supplier<Integer> getter =
-        () -> getSumOfBonuses(TechAbilityAttachment::getAttackRollsBonus, type, player);
-    return getCached(player, type, "getAttackRollsBonus", getter);
+    return getBonus(player, type, UnitBonus.ATTACK_ROLLS);
   }
 
   public int getDefenseBonus(GamePlayer player, UnitType type) {
-    final Supplier<Integer> getter =
-        () -> getSumOfBonuses(TechAbilityAttachment::getDefenseBonus, type, player);
-    return getCached(player, type, "getDefenseBonus", getter);
+    return getBonus(player, type, UnitBonus.DEFENSE);
   }
 
   public int getDefenseRollsBonus(GamePlayer player, UnitType type) {
-    final Supplier<Integer> getter =
-        () -> getSumOfBonuses(TechAbilityAttachment::getDefenseRollsBonus, type, player);
-    return getCached(player, type, "getDefenseRollsBonus", getter);
+    return getBonus(player, type, UnitBonus.DEFENSE_ROLLS);
   }
 
   public int getRadarBonus(GamePlayer player, UnitType type) {
-    final Supplier<Integer> getter =
-        () -> getSumOfBonuses(TechAbilityAttachment::getRadarBonus, type, player);
-    return getCached(player, type, "getRadarBonus", getter);
+    return getBonus(player, type, UnitBonus.RADAR);
   }
 
   public int getRocketDiceNumber(GamePlayer player, UnitType type) {
-    final Supplier<Integer> getter =
-        () -> getSumOfBonuses(TechAbilityAttachment::getRocketDiceNumber, type, player);
-    return getCached(player, type, "getRocketDiceNumber", getter);
+    return getBonus(player, type, UnitBonus.ROCKET_DICE_NUMBER);
   }
 
   public int getBombingBonus(GamePlayer player, UnitType type) {
-    final Supplier<Integer> getter =
-        () -> getSumOfBonuses(TechAbilityAttachment::getBombingBonus, type, player);
-    return getCached(player, type, "getBombingBonus", getter);
+    return getBonus(player, type, UnitBonus.BOMBING);
   }
 
   public int getProductionBonus(GamePlayer player, UnitType type) {
-    final Supplier<Integer> getter =
-        () -> getSumOfBonuses(TechAbilityAttachment::getProductionBonus, type, player);
-    return getCached(player, type, "getProductionBonus", getter);
+    return getBonus(player, type, UnitBonus.PRODUCTION);
   }
 
   public boolean canBlitz(GamePlayer player, UnitType type) {
-    final BooleanSupplier getter =
-        () -> getUnitAbilitiesGained(TechAbilityAttachment.ABILITY_CAN_BLITZ, type, player);
-    return getCached(player, type, "canBlitz", getter);
+    return getBonus(player, type, UnitBonus.CAN_BLITZ) != 0;
   }
 
   public boolean canBombard(GamePlayer player, UnitType type) {
-    final BooleanSupplier getter =
-        () -> getUnitAbilitiesGained(TechAbilityAttachment.ABILITY_CAN_BOMBARD, type, player);
-    return getCached(player, type, "canBombard", getter);
+    return getBonus(player, type, UnitBonus.CAN_BOMBARD) != 0;
   }
 
   public int getMinimumTerritoryValueForProductionBonus(final GamePlayer player) {
@@ -160,10 +138,54 @@ public class TechTracker {
     return (Integer) cache.computeIfAbsent(new Key(player, type, property), key -> getter.get());
   }
 
-  private boolean getCached(
-      GamePlayer player, UnitType type, String property, BooleanSupplier getter) {
-    return (Boolean)
-        cache.computeIfAbsent(new Key(player, type, property), key -> getter.getAsBoolean());
+  private int getBonus(GamePlayer player, UnitType type, UnitBonus bonus) {
+    final UnitTechBonusTable table = getUnitBonusTable();
+    final int index = table.getIndex(player, type, bonus);
+    if (index == -1) {
+      return computeBonus(player, type, bonus);
+    }
+    int value = table.get(index);
+    if (value == UnitTechBonusTable.UNKNOWN) {
+      value = computeBonus(player, type, bonus);
+      table.set(index, value);
+    }
+    return value;
+  }
+
+  private UnitTechBonusTable getUnitBonusTable() {
+    final UnitTechBonusTable table = unitBonusTable.get();
+    if (table != null) {
+      return table;
+    }
+    final List<GamePlayer> players = new ArrayList<>(data.getPlayerList().getPlayers());
+    players.add(data.getPlayerList().getNullPlayer());
+    final List<UnitType> unitTypes = List.copyOf(data.getUnitTypeList().getAllUnitTypes());
+    final UnitTechBonusTable newTable = new UnitTechBonusTable(players, unitTypes);
+    // threads that create a table at the same time all use the one that was stored first
+    return unitBonusTable.compareAndSet(null, newTable) ? newTable : getUnitBonusTable();
+  }
+
+  private int computeBonus(GamePlayer player, UnitType type, UnitBonus bonus) {
+    return switch (bonus) {
+      case AIR_DEFENSE -> getSumOfBonuses(TechAbilityAttachment::getAirDefenseBonus, type, player);
+      case AIR_ATTACK -> getSumOfBonuses(TechAbilityAttachment::getAirAttackBonus, type, player);
+      case MOVEMENT -> getSumOfBonuses(TechAbilityAttachment::getMovementBonus, type, player);
+      case ATTACK -> getSumOfBonuses(TechAbilityAttachment::getAttackBonus, type, player);
+      case ATTACK_ROLLS ->
+          getSumOfBonuses(TechAbilityAttachment::getAttackRollsBonus, type, player);
+      case DEFENSE -> getSumOfBonuses(TechAbilityAttachment::getDefenseBonus, type, player);
+      case DEFENSE_ROLLS ->
+          getSumOfBonuses(TechAbilityAttachment::getDefenseRollsBonus, type, player);
+      case RADAR -> getSumOfBonuses(TechAbilityAttachment::getRadarBonus, type, player);
+      case ROCKET_DICE_NUMBER ->
+          getSumOfBonuses(TechAbilityAttachment::getRocketDiceNumber, type, player);
+      case BOMBING -> getSumOfBonuses(TechAbilityAttachment::getBombingBonus, type, player);
+      case PRODUCTION -> getSumOfBonuses(TechAbilityAttachment::getProductionBonus, type, player);
+      case CAN_BLITZ ->
+          getUnitAbilitiesGained(TechAbilityAttachment.ABILITY_CAN_BLITZ, type, player) ? 1 : 0;
+      case CAN_BOMBARD ->
+          getUnitAbilitiesGained(TechAbilityAttachment.ABILITY_CAN_BOMBARD, type, player) ? 1 : 0;
+    };
   }
 
   private int getSumOfBonuses(
@@ -107,6 +107,31 @@ public final class TerritoryEffectHelper {
     return max;
   }
 
+  /**
+   * Returns a lower bound of the movement cost {@link #getMaxMovementCost(Territory, Collection)}
+   * returns for any territory with some of the given territory effects.
+   */
+  public static BigDecimal getMinMovementCost(
+      final Collection<TerritoryEffect> effects, final Collection<Unit> units) {
+    if (effects.isEmpty() || units.isEmpty()) {
+      return BigDecimal.ONE;
+    }
+    // the max cost of all units is at least the lowest possible cost of any of them
+    BigDecimal max = new BigDecimal(Integer.MIN_VALUE);
+    for (final Unit unit : units) {
+      BigDecimal movementCost = BigDecimal.ONE;
+      for (final TerritoryEffect effect : effects) {
+        movementCost =
+            movementCost.add(
+                getMovementCostModiferForUnitType(effect, unit.getType()).min(BigDecimal.ZERO));
+      }
+      if (movementCost.compareTo(max) > 0) {
+        max = movementCost;
+      }
+    }
+    return max;
+  }
+
   private static BigDecimal getMovementCostModiferForUnitType(
       final TerritoryEffect effect, final UnitType unitType) {
     final Map<UnitType, BigDecimal> map =
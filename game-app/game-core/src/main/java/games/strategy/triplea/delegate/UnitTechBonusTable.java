@@ -0,0 +1,85 @@
+package games.strategy.triplea.delegate;
+
+import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.data.UnitType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * The tech bonuses of every unit type for every player in a single array, indexed by player, unit
+ * type and bonus. The getters of the unit attachment ask for these bonuses whenever they are
+ * called, so the table answers them without allocating keys or boxing values. Boolean abilities are
+ * stored as 0 and 1.
+ *
+ * <p>The bonuses are computed when they are first needed. Threads that race to compute the same
+ * bonus store the same value, so the table doesn't need to synchronize. The table doesn't notice
+ * changes, the {@link TechTracker} drops it whenever a tech or tech ability attachment changes.
+ */
+final class UnitTechBonusTable {
+  static final int UNKNOWN = Integer.MIN_VALUE;
+
+  enum UnitBonus {
+    AIR_DEFENSE,
+    AIR_ATTACK,
+    MOVEMENT,
+    ATTACK,
+    ATTACK_ROLLS,
+    DEFENSE,
+    DEFENSE_ROLLS,
+    RADAR,
+    ROCKET_DICE_NUMBER,
+    BOMBING,
+    PRODUCTION,
+    CAN_BLITZ,
+    CAN_BOMBARD
+  }
+
+  private static final int BONUS_COUNT = UnitBonus.values().length;
+
+  private final Map<GamePlayer, Integer> playerIndexes;
+  private final Map<UnitType, Integer> unitTypeIndexes;
+  private final int unitTypeCount;
+  private final int[] bonuses;
+
+  UnitTechBonusTable(final List<GamePlayer> players, final List<UnitType> unitTypes) {
+    playerIndexes = newIndexes(players);
+    unitTypeIndexes = newIndexes(unitTypes);
+    unitTypeCount = unitTypes.size();
+    bonuses = new int[players.size() * unitTypes.size() * BONUS_COUNT];
+    Arrays.fill(bonuses, UNKNOWN);
+  }
+
+  private static <T> Map<T, Integer> newIndexes(final List<T> elements) {
+    final Map<T, Integer> indexes = new HashMap<>(elements.size() * 2);
+    for (int i = 0; i < elements.size(); i++) {
+      indexes.putIfAbsent(elements.get(i), i);
+    }
+    return indexes;
+  }
+
+  /**
+   * Returns the index of the bonus of the player's units of the given type or -1 if the table
+   * doesn't know the player or unit type.
+   */
+  int getIndex(
+      @Nullable final GamePlayer player, @Nullable final UnitType unitType, final UnitBonus bonus) {
+    final Integer playerIndex = player == null ? null : playerIndexes.get(player);
+    final Integer unitTypeIndex = unitType == null ? null : unitTypeIndexes.get(unitType);
+    if (playerIndex == null || unitTypeIndex == null) {
+      return -1;
+    }
+    return (playerIndex * unitTypeCount + unitTypeIndex) * BONUS_COUNT + bonus.ordinal();
+  }
+
+  /** Returns the bonus with the given index or {@link #UNKNOWN} if it wasn't computed yet. */
+  int get(final int index) {
+    return bonuses[index];
+  }
+
+  void set(final int index, final int bonus) {
+    bonuses[index] = bonus;
+  }
+}
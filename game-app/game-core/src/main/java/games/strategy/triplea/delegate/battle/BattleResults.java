@@ -14,7 +14,7 @@ public class BattleResults extends GameDataComponent {
   @Getter private final int battleRoundsFought;
   @Getter private final Collection<Unit> remainingAttackingUnits;
   @Getter private final Collection<Unit> remainingDefendingUnits;
-  private final WhoWon whoWon;
+  @Getter private final WhoWon whoWon;
 
   // FYI: do not save the battle in BattleResults. It is both too much memory overhead, and also
   // causes problems with
@@ -45,6 +45,23 @@ public class BattleResults extends GameDataComponent {
     whoWon = scriptedWhoWon;
   }
 
+  /**
+   * Use this for results of a battle that was never fought, e.g. an outcome computed analytically
+   * by a battle calculator.
+   */
+  public BattleResults(
+      final int battleRoundsFought,
+      final Collection<Unit> remainingAttackingUnits,
+      final Collection<Unit> remainingDefendingUnits,
+      final WhoWon whoWon,
+      final GameData data) {
+    super(data);
+    this.battleRoundsFought = battleRoundsFought;
+    this.remainingAttackingUnits = remainingAttackingUnits;
+    this.remainingDefendingUnits = remainingDefendingUnits;
+    this.whoWon = whoWon;
+  }
+
   // These could easily screw up an AI into thinking it has won when it really hasn't. Must make
   // sure we only count
   // combat units that can die.
@@ -650,11 +650,11 @@ public class MustFightBattle extends DependentBattle
     removeAirNoLongerInTerritory();
     markAttackingTransports(bridge);
     writeUnitsToHistory(bridge);
-    if (CollectionUtils.getMatches(attackingUnits, Matches.unitIsNotInfrastructure()).isEmpty()) {
+    if (!CollectionUtils.anyMatch(attackingUnits, Matches.unitIsNotInfrastructure())) {
       endBattle(WhoWon.DEFENDER, bridge);
       return;
     }
-    if (CollectionUtils.getMatches(defendingUnits, Matches.unitIsNotInfrastructure()).isEmpty()) {
+    if (!CollectionUtils.anyMatch(defendingUnits, Matches.unitIsNotInfrastructure())) {
       endBattle(WhoWon.ATTACKER, bridge);
       return;
     }
@@ -10,85 +10,136 @@ import games.strategy.triplea.util.TuvUtils;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 import lombok.Getter;
 import lombok.Setter;
-import org.apache.commons.math3.stat.descriptive.moment.Mean;
 import org.triplea.java.collections.IntegerMap;
 import org.triplea.util.Tuple;
 
 /**
  * A container for the results of multiple battle simulation runs.
  *
- * <p>This class wraps a collection of {@code BattleResult}s and provides methods to query certain
- * statistical properties over this set, e.g. the win probability, or the average number of units
- * left.
+ * <p>This class folds each added {@code BattleResult} into running totals and provides methods to
+ * query certain statistical properties over the added results, e.g. the win probability, or the
+ * average number of units left. Apart from one representative result per distinct number of
+ * remaining attacking and defending units, the added results are not retained, so the memory used
+ * does not grow with the number of runs.
  *
  * <p>This class does not restrict the added battle result to come from the same battle setup. If
  * this is desired, the user must ensure that the results added have that property.
  */
-@Getter
 public class AggregateResults {
-  /**
-   * -- GETTER -- Returns the stored battle results.
-   *
-   * <p>Note: The returned list is the encapsulated list and not a copy.
-   */
-  private final List<BattleResults> results;
+  @Getter @Setter private long time;
 
-  @Setter private long time;
+  private int rollCount = 0;
+  private int attackerWins = 0;
+  private int defenderWins = 0;
+  private int draws = 0;
+  private long battleRoundsFought = 0;
+  private long attackingUnitsLeft = 0;
+  private long attackingUnitsLeftWhenAttackerWon = 0;
+  private long defendingUnitsLeft = 0;
+  private long defendingUnitsLeftWhenDefenderWon = 0;
+  // the number of remaining units per unit type summed over all results
+  private final IntegerMap<UnitType> attackingUnitsLeftByType = new IntegerMap<>();
+  private final IntegerMap<UnitType> defendingUnitsLeftByType = new IntegerMap<>();
+  // the first result added for each outcome, in the order they were added
+  private final Map<Outcome, BattleResults> representativeResults = new LinkedHashMap<>();
+
+  private record Outcome(int attackingUnitsLeft, int defendingUnitsLeft) {}
 
   /**
-   * Creates a new aggregator and sets the internal storage size to {@code expectedCount}. Choosing
-   * a good estimate reduces the number of reallocations of the internal storage when adding
-   * results.
+   * Add the battle result {@code result} to this aggregator.
    *
-   * @param expectedCount number of expected results to store
+   * @param result the battle result to add.
    */
-  public AggregateResults(final int expectedCount) {
-    results = new ArrayList<>(expectedCount);
+  public void addResult(final BattleResults result) {
+    final Collection<Unit> attackingUnits = result.getRemainingAttackingUnits();
+    final Collection<Unit> defendingUnits = result.getRemainingDefendingUnits();
+    rollCount++;
+    if (result.attackerWon()) {
+      attackerWins++;
+      attackingUnitsLeftWhenAttackerWon += attackingUnits.size();
+    } else if (result.defenderWon()) {
+      defenderWins++;
+      defendingUnitsLeftWhenDefenderWon += defendingUnits.size();
+    } else {
+      draws++;
+    }
+    battleRoundsFought += result.getBattleRoundsFought();
+    attackingUnitsLeft += attackingUnits.size();
+    defendingUnitsLeft += defendingUnits.size();
+    attackingUnits.forEach(unit -> attackingUnitsLeftByType.add(unit.getType(), 1));
+    defendingUnits.forEach(unit -> defendingUnitsLeftByType.add(unit.getType(), 1));
+    representativeResults.putIfAbsent(
+        new Outcome(attackingUnits.size(), defendingUnits.size()), result);
   }
 
   /**
-   * Creates a new aggregator and populates it with thr battle results {@code results}. Further
-   * results can later be added with the usual methods.
+   * Add all battle results in {@code results} to this aggregator.
    *
-   * @param results the battle results to add initially to this aggregator.
+   * @param results the battle results to add
    */
-  public AggregateResults(final List<BattleResults> results) {
-    this.results = new ArrayList<>(results);
+  public void addResults(final Collection<BattleResults> results) {
+    results.forEach(this::addResult);
   }
 
   /**
-   * Add the battle result {@code result} to this aggregator.
+   * Add all battle results aggregated by {@code other} to this aggregator. The results of {@code
+   * other} are treated as if they were added after the results already added to this aggregator.
    *
-   * @param result the battle result to add.
+   * @param other the aggregator whose results to add
    */
-  public void addResult(final BattleResults result) {
-    results.add(result);
+  public void addResults(final AggregateResults other) {
+    rollCount += other.rollCount;
+    attackerWins += other.attackerWins;
+    defenderWins += other.defenderWins;
+    draws += other.draws;
+    battleRoundsFought += other.battleRoundsFought;
+    attackingUnitsLeft += other.attackingUnitsLeft;
+    attackingUnitsLeftWhenAttackerWon += other.attackingUnitsLeftWhenAttackerWon;
+    defendingUnitsLeft += other.defendingUnitsLeft;
+    defendingUnitsLeftWhenDefenderWon += other.defendingUnitsLeftWhenDefenderWon;
+    attackingUnitsLeftByType.add(other.attackingUnitsLeftByType);
+    defendingUnitsLeftByType.add(other.defendingUnitsLeftByType);
+    other.representativeResults.forEach(representativeResults::putIfAbsent);
   }
 
   /**
-   * Add all battle results in {@code results} to this aggregator.
-   *
-   * @param results the battle results to add
+   * Returns a copy of these results in which the remaining units of the retained results are
+   * replaced by the units the given mappings return for them.
    */
-  public void addResults(final Collection<BattleResults> results) {
-    this.results.addAll(results);
+  AggregateResults withRemainingUnits(
+      final UnaryOperator<Collection<Unit>> attackingUnitsMapping,
+      final UnaryOperator<Collection<Unit>> defendingUnitsMapping) {
+    final AggregateResults copy = new AggregateResults();
+    copy.addResults(this);
+    copy.time = time;
+    copy.representativeResults.replaceAll(
+        (outcome, result) ->
+            new BattleResults(
+                result.getBattleRoundsFought(),
+                attackingUnitsMapping.apply(result.getRemainingAttackingUnits()),
+                defendingUnitsMapping.apply(result.getRemainingDefendingUnits()),
+                result.getWhoWon(),
+                result.getData()));
+    return copy;
   }
 
   private Optional<BattleResults> getBattleResultsClosestToAverage() {
-    return results.stream()
+    final double averageAttackingUnitsLeft = getAverageAttackingUnitsLeft();
+    final double averageDefendingUnitsLeft = getAverageDefendingUnitsLeft();
+    return representativeResults.entrySet().stream()
         .min(
             Comparator.comparingDouble(
-                result ->
-                    Math.abs(
-                            result.getRemainingAttackingUnits().size()
-                                - getAverageAttackingUnitsLeft())
+                entry ->
+                    Math.abs(entry.getKey().attackingUnitsLeft() - averageAttackingUnitsLeft)
                         + Math.abs(
-                            result.getRemainingDefendingUnits().size()
-                                - getAverageDefendingUnitsLeft())));
+                            entry.getKey().defendingUnitsLeft() - averageDefendingUnitsLeft)))
+        .map(Map.Entry::getValue);
   }
 
   public Collection<Unit> getAverageAttackingUnitsRemaining() {
@@ -116,15 +167,20 @@ public class AggregateResults {
   public Tuple<Double, Double> getAverageTuvOfUnitsLeftOver(
       final IntegerMap<UnitType> attackerCostsForTuv,
       final IntegerMap<UnitType> defenderCostsForTuv) {
-    final Mean attackerTuvMean = new Mean();
-    final Mean defenderTuvMean = new Mean();
-    for (final BattleResults result : results) {
-      attackerTuvMean.increment(
-          TuvUtils.getTuv(result.getRemainingAttackingUnits(), attackerCostsForTuv));
-      defenderTuvMean.increment(
-          TuvUtils.getTuv(result.getRemainingDefendingUnits(), defenderCostsForTuv));
+    return Tuple.of(
+        getAverageTuv(attackingUnitsLeftByType, attackerCostsForTuv),
+        getAverageTuv(defendingUnitsLeftByType, defenderCostsForTuv));
+  }
+
+  private double getAverageTuv(
+      final IntegerMap<UnitType> unitsLeftByType, final IntegerMap<UnitType> costsForTuv) {
+    // the TUV is linear in the number of units per type, so the average can be computed from the
+    // summed up numbers of units
+    long tuv = 0;
+    for (final UnitType unitType : unitsLeftByType.keySet()) {
+      tuv += (long) unitsLeftByType.getInt(unitType) * costsForTuv.getInt(unitType);
     }
-    return Tuple.of(attackerTuvMean.getResult(), defenderTuvMean.getResult());
+    return average(tuv, rollCount);
   }
 
   /**
@@ -169,17 +225,12 @@ public class AggregateResults {
     final IntegerMap<UnitType> defenderCostsForTuv = tuvCalculator.getCostsForTuv(defender);
     final int attackerStartingTuv = TuvUtils.getTuv(attackers, attackerCostsForTuv);
     final int defenderStartingTuv = TuvUtils.getTuv(defenders, defenderCostsForTuv);
-    final Mean mean = new Mean();
+    final Tuple<Double, Double> averageTuvLeft =
+        getAverageTuvOfUnitsLeftOver(attackerCostsForTuv, defenderCostsForTuv);
     return defenderStartingTuv
         - attackerStartingTuv
-        + mean.evaluate(
-            results.stream()
-                .mapToDouble(
-                    result ->
-                        TuvUtils.getTuv(result.getRemainingAttackingUnits(), attackerCostsForTuv)
-                            - TuvUtils.getTuv(
-                                result.getRemainingDefendingUnits(), defenderCostsForTuv))
-                .toArray());
+        + averageTuvLeft.getFirst()
+        - averageTuvLeft.getSecond();
   }
 
   /**
@@ -188,12 +239,7 @@ public class AggregateResults {
    * <p>If no battle results were added to this aggregator instance, {@code NaN} is returned.
    */
   public double getAverageAttackingUnitsLeft() {
-    final Mean mean = new Mean();
-    return mean.evaluate(
-        results.stream()
-            .map(BattleResults::getRemainingAttackingUnits)
-            .mapToDouble(Collection::size)
-            .toArray());
+    return average(attackingUnitsLeft, rollCount);
   }
 
   /**
@@ -204,13 +250,7 @@ public class AggregateResults {
    * any of those battles, then {@code NaN} is returned.
    */
   public double getAverageAttackingUnitsLeftWhenAttackerWon() {
-    final Mean mean = new Mean();
-    return mean.evaluate(
-        results.stream()
-            .filter(BattleResults::attackerWon)
-            .map(BattleResults::getRemainingAttackingUnits)
-            .mapToDouble(Collection::size)
-            .toArray());
+    return average(attackingUnitsLeftWhenAttackerWon, attackerWins);
   }
 
   /**
@@ -219,12 +259,7 @@ public class AggregateResults {
    * <p>If no battle results were added to this aggregator instance, {@code NaN} is returned.
    */
   public double getAverageDefendingUnitsLeft() {
-    final Mean mean = new Mean();
-    return mean.evaluate(
-        results.stream()
-            .map(BattleResults::getRemainingDefendingUnits)
-            .mapToDouble(Collection::size)
-            .toArray());
+    return average(defendingUnitsLeft, rollCount);
   }
 
   /**
@@ -235,13 +270,7 @@ public class AggregateResults {
    * any of those battles, then {@code NaN} is returned.
    */
   public double getAverageDefendingUnitsLeftWhenDefenderWon() {
-    final Mean mean = new Mean();
-    return mean.evaluate(
-        results.stream()
-            .filter(BattleResults::defenderWon)
-            .map(BattleResults::getRemainingDefendingUnits)
-            .mapToDouble(Collection::size)
-            .toArray());
+    return average(defendingUnitsLeftWhenDefenderWon, defenderWins);
   }
 
   /**
@@ -252,9 +281,7 @@ public class AggregateResults {
    * <p>If no battle results were added to this aggregator instance, {@code NaN} is returned.
    */
   public double getAttackerWinPercent() {
-    final Mean mean = new Mean();
-    return mean.evaluate(
-        results.stream().mapToDouble(result -> result.attackerWon() ? 1 : 0).toArray());
+    return average(attackerWins, rollCount);
   }
 
   /**
@@ -265,9 +292,7 @@ public class AggregateResults {
    * <p>If no battle results were added to this aggregator instance, {@code NaN} is returned.
    */
   public double getDefenderWinPercent() {
-    final Mean mean = new Mean();
-    return mean.evaluate(
-        results.stream().mapToDouble(result -> result.defenderWon() ? 1 : 0).toArray());
+    return average(defenderWins, rollCount);
   }
 
   /**
@@ -277,8 +302,7 @@ public class AggregateResults {
    * <p>If no battle results were added to this aggregator instance, {@code NaN} is returned.
    */
   public double getDrawPercent() {
-    final Mean mean = new Mean();
-    return mean.evaluate(results.stream().mapToDouble(result -> result.draw() ? 1 : 0).toArray());
+    return average(draws, rollCount);
   }
 
   /**
@@ -287,13 +311,16 @@ public class AggregateResults {
    * <p>If no battle results were added to this aggregator instance, {@code NaN} is returned.
    */
   public double getAverageBattleRoundsFought() {
-    final Mean mean = new Mean();
-    return mean.evaluate(
-        results.stream().mapToDouble(BattleResults::getBattleRoundsFought).toArray());
+    return average(battleRoundsFought, rollCount);
   }
 
   /** Returns the number of battles aggregated by this instance. */
   public int getRollCount() {
-    return results.size();
+    return rollCount;
+  }
+
+  private static double average(final long total, final int count) {
+    // 0 / 0 is NaN, which is what is returned if there is nothing to average
+    return (double) total / count;
   }
 }
@@ -2,10 +2,12 @@ package games.strategy.triplea.odds.calculator;
 
 import static games.strategy.triplea.Constants.EDIT_MODE;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
-import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.data.GameStep;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
@@ -16,17 +18,22 @@ import games.strategy.triplea.delegate.battle.BattleResults;
 import games.strategy.triplea.delegate.battle.BattleTracker;
 import games.strategy.triplea.delegate.battle.MustFightBattle;
 import games.strategy.triplea.util.TuvCostsCalculator;
-import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import lombok.Setter;
 
 class BattleCalculator implements IBattleCalculator {
   @Nonnull private final GameData gameData;
+  // the copy has no units besides the ones that calculations bring in
+  private final boolean unitless;
   // Use a single TuvCostsCalculator so its computations are cached.
   private final TuvCostsCalculator tuvCalculator = new TuvCostsCalculator();
   @Setter private boolean keepOneAttackingLandUnit = false;
@@ -37,16 +44,47 @@ class BattleCalculator implements IBattleCalculator {
   @Setter private String defenderOrderOfLosses = null;
   private volatile boolean cancelled = false;
   private final AtomicBoolean isRunning = new AtomicBoolean(false);
+  // the units of the territories that calculations filled with the units of their battle
+  private final Map<Territory, Collection<Unit>> replacedUnits = new HashMap<>();
+  // the units that calculations marked as amphibious
+  private final Set<Unit> markedAmphibious = new HashSet<>();
+  // the battle whose neighbors hold the units of the original game data, null if none does
+  @Nullable private Territory preparedLocation;
 
   BattleCalculator(GameData data) {
     gameData =
         GameDataUtils.cloneGameData(data, GameDataManager.Options.forBattleCalculator())
             .orElseThrow();
+    unitless = false;
   }
 
-  BattleCalculator(byte[] data) {
+  /**
+   * Creates a worker from a serialized copy of the game data.
+   *
+   * @param unitless Whether the copy has all units removed, see {@link #removeAllUnits(GameData)}.
+   */
+  BattleCalculator(byte[] data, boolean unitless) {
     gameData = GameDataUtils.createGameDataFromBytes(data).orElseThrow();
     gameData.getProperties().set(EDIT_MODE, false);
+    this.unitless = unitless;
+  }
+
+  /**
+   * Removes every unit from the map, from the players and from the units list of a copy of the
+   * game data without performing any change. Must only be used on private copies that never become
+   * part of a game.
+   */
+  static void removeAllUnits(final GameData copy) {
+    for (final Territory territory : copy.getMap().getTerritories()) {
+      territory.getUnitCollection().clear();
+    }
+    for (final GamePlayer player : copy.getPlayerList().getPlayers()) {
+      player.getUnitCollection().clear();
+    }
+    copy.getPlayerList().getNullPlayer().getUnitCollection().clear();
+    for (final Unit unit : List.copyOf(copy.getUnits().getUnits())) {
+      copy.getUnits().remove(unit);
+    }
   }
 
   @Override
@@ -72,19 +110,22 @@ class BattleCalculator implements IBattleCalculator {
               ? gameData.getPlayerList().getNullPlayer()
               : gameData.getPlayerList().getPlayerId(defender.getName());
       final Territory location2 = gameData.getMap().getTerritoryOrNull(location.getName());
-      final Collection<Unit> attackingUnits =
-          translateCollectionIntoOtherGameData(attacking, gameData);
-      final Collection<Unit> defendingUnits =
-          translateCollectionIntoOtherGameData(defending, gameData);
-      final Collection<Unit> bombardingUnits =
-          translateCollectionIntoOtherGameData(bombarding, gameData);
+      if (unitless && !location.equals(preparedLocation)) {
+        restoreUnits();
+        copyNeighborUnits(location);
+        preparedLocation = location;
+      }
+      final Collection<Unit> attackingUnits = translateUnits(attacking);
+      final Collection<Unit> defendingUnits = translateUnits(defending);
+      final Collection<Unit> bombardingUnits = translateUnits(bombarding);
       final Collection<TerritoryEffect> territoryEffects2 =
-          translateCollectionIntoOtherGameData(territoryEffects, gameData);
+          translateTerritoryEffects(territoryEffects);
+      replacedUnits.computeIfAbsent(location2, territory -> new ArrayList<>(territory.getUnits()));
       gameData.performChange(ChangeFactory.removeUnits(location2, location2.getUnits()));
       gameData.performChange(
           ChangeFactory.addUnits(location2, mergeUnitCollections(attackingUnits, defendingUnits)));
       final long start = System.currentTimeMillis();
-      final AggregateResults aggregateResults = new AggregateResults(runCount);
+      final AggregateResults aggregateResults = new AggregateResults();
       final BattleTracker battleTracker = new BattleTracker();
       final List<Unit> attackerOrderOfLosses =
           OrderOfLossesInputPanel.getUnitListByOrderOfLoss(
@@ -92,33 +133,40 @@ class BattleCalculator implements IBattleCalculator {
       final List<Unit> defenderOrderOfLosses =
           OrderOfLossesInputPanel.getUnitListByOrderOfLoss(
               this.defenderOrderOfLosses, defendingUnits, gameData);
+      // the bridge keeps no state of its own between battles, so one is enough for all runs
+      final DummyDelegateBridge bridge =
+          new DummyDelegateBridge(
+              attacker2,
+              gameData,
+              attackerOrderOfLosses,
+              defenderOrderOfLosses,
+              keepOneAttackingLandUnit,
+              retreatAfterRound,
+              retreatAfterXUnitsLeft,
+              retreatWhenOnlyAirLeft,
+              tuvCalculator);
+      if (amphibious) {
+        for (final Unit unit : attackingUnits) {
+          if (!unit.getWasAmphibious()) {
+            unit.setWasAmphibious(true);
+            markedAmphibious.add(unit);
+          }
+        }
+      }
+      final Collection<Unit> involvedUnits = new ArrayList<>(location2.getUnits());
+      involvedUnits.addAll(bombardingUnits);
+      final UnitHitsCheckpoint checkpoint = new UnitHitsCheckpoint(involvedUnits);
       for (int i = 0; i < runCount && !cancelled; i++) {
-        final CompositeChange allChanges = new CompositeChange();
-        final DummyDelegateBridge bridge =
-            new DummyDelegateBridge(
-                attacker2,
-                gameData,
-                allChanges,
-                attackerOrderOfLosses,
-                defenderOrderOfLosses,
-                keepOneAttackingLandUnit,
-                retreatAfterRound,
-                retreatAfterXUnitsLeft,
-                retreatWhenOnlyAirLeft,
-                tuvCalculator);
         final MustFightBattle battle =
             new MustFightBattle(location2, attacker2, gameData, battleTracker);
         battle.setHeadless(true);
-        if (amphibious) {
-          attackingUnits.forEach(unit -> unit.setWasAmphibious(true));
-        }
         battle.setUnits(
             defendingUnits, attackingUnits, bombardingUnits, defender2, territoryEffects2);
         bridge.setBattle(battle);
         battle.fight(bridge);
         aggregateResults.addResult(new BattleResults(battle, gameData));
         // restore the game to its original state
-        gameData.performChange(allChanges.invert());
+        checkpoint.restore();
         battleTracker.clear();
         battleTracker.clearBattleRecords();
       }
@@ -130,14 +178,104 @@ class BattleCalculator implements IBattleCalculator {
     }
   }
 
-  private <T> Collection<T> translateCollectionIntoOtherGameData(
-      Collection<T> collection, GameData otherData) {
-    // translateIntoOtherGameData() uses serialization, so if the collection is not serializable,
-    // copy it into one that is. In particular, HashMap.keySet() and similar are not serializable.
-    if (!(collection instanceof Serializable)) {
-      collection = new ArrayList<>(collection);
+  /**
+   * Brings this worker's copy of the game data up to date by performing the changes that were
+   * performed on the original game data since the copy was made. The units that calculations
+   * moved around are put back first, so the changes are performed on the same state as in the
+   * original game data. Moving through the game sequence is not done by changes, so the current
+   * round and step are taken over separately.
+   *
+   * @param serializedChanges A list of changes written by {@link
+   *     GameDataUtils#gameObjectToBytes(Object)}.
+   * @param round The round of the original game data, without any round offset.
+   * @param stepIndex The index of the current step of the original game data.
+   */
+  void applyChanges(final byte[] serializedChanges, final int round, final int stepIndex) {
+    Preconditions.checkState(
+        !isRunning.get(), "Can't apply changes while operation is still running!");
+    restoreUnits();
+    preparedLocation = null;
+    final List<Change> changes = GameDataUtils.gameObjectFromBytes(serializedChanges, gameData);
+    changes.forEach(gameData::performChange);
+    final GameStep step = gameData.getSequence().getStep(stepIndex);
+    gameData.getSequence().setRoundAndStep(round, step.getDisplayName(), step.getPlayerId());
+    if (unitless) {
+      removeAllUnits(gameData);
+    }
+    // setting the game data cancelled this worker before it was brought up to date, the next
+    // calculation has to run in full again
+    cancelled = false;
+  }
+
+  /**
+   * Copies the units of the territories next to the battle from the game data of the battle into
+   * the unitless copy. Whether units may retreat or land there depends on these units.
+   */
+  private void copyNeighborUnits(final Territory location) {
+    final GameData data = location.getData();
+    final Map<Territory, Collection<Unit>> neighborUnits = new HashMap<>();
+    try (GameData.Unlocker ignored = data.acquireReadLock()) {
+      for (final Territory neighbor : data.getMap().getNeighbors(location)) {
+        neighborUnits.put(
+            gameData.getMap().getTerritoryOrNull(neighbor.getName()),
+            translateUnits(neighbor.getUnits()));
+      }
+    }
+    neighborUnits.forEach(
+        (neighbor, units) -> {
+          replacedUnits.computeIfAbsent(
+              neighbor, territory -> new ArrayList<>(territory.getUnits()));
+          gameData.performChange(ChangeFactory.removeUnits(neighbor, neighbor.getUnits()));
+          gameData.performChange(ChangeFactory.addUnits(neighbor, units));
+        });
+  }
+
+  /**
+   * Lets the next calculation copy the units next to its battle again, even if it is at the same
+   * location as the previous one. The batches of one calculation only copy them once.
+   */
+  void forgetNeighborUnits() {
+    preparedLocation = null;
+  }
+
+  private void restoreUnits() {
+    replacedUnits.forEach(
+        (territory, units) -> {
+          gameData.performChange(ChangeFactory.removeUnits(territory, territory.getUnits()));
+          gameData.performChange(ChangeFactory.addUnits(territory, units));
+        });
+    replacedUnits.clear();
+    markedAmphibious.forEach(unit -> unit.setWasAmphibious(false));
+    markedAmphibious.clear();
+  }
+
+  @VisibleForTesting
+  GameData getGameData() {
+    return gameData;
+  }
+
+  /**
+   * Looks up the units in this worker's game data by id. Units it does not know yet, e.g. units
+   * the AI made up to evaluate a hypothetical battle, are copied into it.
+   */
+  private Collection<Unit> translateUnits(final Collection<Unit> units) {
+    final Collection<Unit> translated = new ArrayList<>(units.size());
+    for (final Unit unit : units) {
+      translated.add(unit.translateInto(gameData));
+    }
+    return translated;
+  }
+
+  private Collection<TerritoryEffect> translateTerritoryEffects(
+      final Collection<TerritoryEffect> territoryEffects) {
+    final Collection<TerritoryEffect> translated = new ArrayList<>(territoryEffects.size());
+    for (final TerritoryEffect territoryEffect : territoryEffects) {
+      translated.add(
+          Preconditions.checkNotNull(
+              gameData.getTerritoryEffectList().get(territoryEffect.getName()),
+              "Unknown territory effect: " + territoryEffect.getName()));
     }
-    return GameDataUtils.translateIntoOtherGameData(collection, otherData);
+    return translated;
   }
 
   private Collection<Unit> mergeUnitCollections(Collection<Unit> c1, Collection<Unit> c2) {
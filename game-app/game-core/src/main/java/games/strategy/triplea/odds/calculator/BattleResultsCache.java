@@ -0,0 +1,208 @@
+package games.strategy.triplea.odds.calculator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.ImmutableSet;
+import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache of battle calculation results. Battles with the same {@link Signature} are
+ * simulated only once, later calculations get the cached results.
+ *
+ * <p>The cache doesn't notice changes to the game data, it has to be invalidated whenever the
+ * calculator gets a new game data.
+ */
+class BattleResultsCache {
+  private final Cache<Signature, AggregateResults> cache;
+
+  BattleResultsCache(final int maxSize) {
+    cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+  }
+
+  /**
+   * Returns the cached results for {@code signature} or the results of {@code calculation}, which
+   * are cached then unless the calculation was cancelled. The remaining units of the returned
+   * results are taken from {@code attacking} and {@code defending}, even if the cached results were
+   * calculated for other but equal units.
+   */
+  AggregateResults getOrCalculate(
+      final Signature signature,
+      final Collection<Unit> attacking,
+      final Collection<Unit> defending,
+      final Supplier<Calculation> calculation) {
+    AggregateResults results = cache.getIfPresent(signature);
+    if (results == null) {
+      final Calculation calculated = calculation.get();
+      results = calculated.results();
+      if (calculated.complete()) {
+        cache.put(signature, results);
+      }
+    }
+    // always hand out a copy since callers are allowed to modify the remaining units
+    return results.withRemainingUnits(
+        remaining -> translateUnits(remaining, attacking),
+        remaining -> translateUnits(remaining, defending));
+  }
+
+  /**
+   * Returns whether battles of the units can be cached. Units that are transported by other units
+   * or unloaded other units are not, because which units they belong together with is not part of
+   * the {@link Signature}.
+   */
+  static boolean isCacheable(final Collection<Unit> units) {
+    return units.stream()
+        .noneMatch(unit -> unit.getTransportedBy() != null || !unit.getUnloaded().isEmpty());
+  }
+
+  /**
+   * The results of a calculation of a battle.
+   *
+   * @param complete Whether the calculation ran as many runs as it was asked for, or until its
+   *     target precision was reached, rather than being cancelled.
+   */
+  record Calculation(AggregateResults results, boolean complete) {}
+
+  void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  CacheStats stats() {
+    return cache.stats();
+  }
+
+  /**
+   * Replaces every unit of {@code remaining} by a unit of {@code units} that is equal for the
+   * battle, preferring the unit with the same id.
+   */
+  private static Collection<Unit> translateUnits(
+      final Collection<Unit> remaining, final Collection<Unit> units) {
+    final Map<UUID, Unit> unitsById = new HashMap<>();
+    final Map<UnitKey, Set<Unit>> unitsByKey = new HashMap<>();
+    for (final Unit unit : units) {
+      unitsById.put(unit.getId(), unit);
+      unitsByKey.computeIfAbsent(UnitKey.of(unit), key -> new LinkedHashSet<>()).add(unit);
+    }
+    final Unit[] translated = new Unit[remaining.size()];
+    int i = 0;
+    for (final Unit unit : remaining) {
+      final Unit sameUnit = unitsById.get(unit.getId());
+      if (sameUnit != null && unitsByKey.get(UnitKey.of(sameUnit)).remove(sameUnit)) {
+        translated[i] = sameUnit;
+      }
+      i++;
+    }
+    i = 0;
+    for (final Unit unit : remaining) {
+      if (translated[i] == null) {
+        final Set<Unit> equalUnits = unitsByKey.getOrDefault(UnitKey.of(unit), Set.of());
+        if (equalUnits.isEmpty()) {
+          translated[i] = unit;
+        } else {
+          final Unit equalUnit = equalUnits.iterator().next();
+          equalUnits.remove(equalUnit);
+          translated[i] = equalUnit;
+        }
+      }
+      i++;
+    }
+    return new ArrayList<>(List.of(translated));
+  }
+
+  /** The state of a unit that matters for a battle. */
+  private record UnitKey(
+      String type,
+      @Nullable String owner,
+      int hits,
+      int unitDamage,
+      BigDecimal alreadyMoved,
+      boolean submerged,
+      boolean disabled,
+      boolean wasInCombat,
+      boolean wasAmphibious,
+      boolean wasUnloadedInCombatPhase,
+      boolean wasScrambled,
+      boolean airborne) {
+    static UnitKey of(final Unit unit) {
+      return new UnitKey(
+          unit.getType().getName(),
+          unit.getOwner() == null ? null : unit.getOwner().getName(),
+          unit.getHits(),
+          unit.getUnitDamage(),
+          // equal movement may have a different scale, e.g. 1 and 1.0
+          unit.getAlreadyMoved().stripTrailingZeros(),
+          unit.getSubmerged(),
+          unit.getDisabled(),
+          unit.getWasInCombat(),
+          unit.getWasAmphibious(),
+          unit.getWasUnloadedInCombatPhase(),
+          unit.getWasScrambled(),
+          unit.getAirborne());
+    }
+
+    static ImmutableMultiset<UnitKey> of(final Collection<Unit> units) {
+      return units.stream().map(UnitKey::of).collect(ImmutableMultiset.toImmutableMultiset());
+    }
+  }
+
+  /**
+   * Everything a battle calculation depends on besides the game data, with the units reduced to
+   * their battle relevant state so that battles between equal units have the same signature.
+   *
+   * @param options the options of the calculator the battle is calculated with, e.g. the order of
+   *     losses and retreat settings
+   */
+  record Signature(
+      @Nullable String attacker,
+      @Nullable String defender,
+      String location,
+      ImmutableMultiset<UnitKey> attacking,
+      ImmutableMultiset<UnitKey> defending,
+      ImmutableMultiset<UnitKey> bombarding,
+      ImmutableSet<String> territoryEffects,
+      boolean retreatWhenOnlyAirLeft,
+      int runCount,
+      List<Object> options) {
+
+    static Signature of(
+        @Nullable final GamePlayer attacker,
+        @Nullable final GamePlayer defender,
+        final Territory location,
+        final Collection<Unit> attacking,
+        final Collection<Unit> defending,
+        final Collection<Unit> bombarding,
+        final Collection<TerritoryEffect> territoryEffects,
+        final boolean retreatWhenOnlyAirLeft,
+        final int runCount,
+        final List<Object> options) {
+      return new Signature(
+          attacker == null ? null : attacker.getName(),
+          defender == null ? null : defender.getName(),
+          location.getName(),
+          UnitKey.of(attacking),
+          UnitKey.of(defending),
+          UnitKey.of(bombarding),
+          territoryEffects.stream()
+              .map(TerritoryEffect::getName)
+              .collect(ImmutableSet.toImmutableSet()),
+          retreatWhenOnlyAirLeft,
+          runCount,
+          options);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package games.strategy.triplea.odds.calculator;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.events.GameDataChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Records the changes performed on a {@link GameData} so that battle calculator workers holding a
+ * copy of it can be brought up to date by replaying them, instead of copying the whole game again.
+ *
+ * <p>Once more than {@code maxChanges} changes were recorded the recorder gives up, since replaying
+ * them would not be cheaper than a new copy anymore.
+ */
+@ThreadSafe
+class ChangeRecorder implements GameDataChangeListener {
+  private final GameData data;
+  private final int maxChanges;
+  private final List<Change> changes = new ArrayList<>();
+  // the changes up to this number are already included in the copy of the data
+  private long copiedChangeCount;
+  private boolean overflowed = false;
+
+  ChangeRecorder(final GameData data, final int maxChanges) {
+    this.data = data;
+    this.maxChanges = maxChanges;
+  }
+
+  /**
+   * Starts recording the changes that are performed after the data was copied. Must be called
+   * while holding the lock that the data is copied with, because the listeners are notified of a
+   * change only after it was performed and the lock was released again.
+   */
+  @SuppressWarnings("deprecation")
+  synchronized void start() {
+    copiedChangeCount = data.getChangeCount();
+    // the event based listeners don't expose the change itself, which is what we need to replay
+    data.addDataChangeListener(this);
+  }
+
+  void stop() {
+    data.removeDataChangeListener(this);
+  }
+
+  boolean isRecording(final GameData data) {
+    return this.data == data;
+  }
+
+  @Override
+  public void gameDataChanged(final Change change) {
+    // the game data always passes the number of the change, without it the change is recorded
+    gameDataChanged(change, Long.MAX_VALUE);
+  }
+
+  @Override
+  public synchronized void gameDataChanged(final Change change, final long changeNumber) {
+    if (overflowed || changeNumber <= copiedChangeCount) {
+      return;
+    }
+    if (changes.size() >= maxChanges) {
+      overflowed = true;
+      changes.clear();
+      return;
+    }
+    changes.add(change);
+  }
+
+  /**
+   * Returns the changes recorded since the previous call, or empty if too many changes happened to
+   * replay them.
+   */
+  synchronized Optional<List<Change>> drainChanges() {
+    if (overflowed) {
+      return Optional.empty();
+    }
+    final List<Change> recorded = new ArrayList<>(changes);
+    changes.clear();
+    return Optional.of(recorded);
+  }
+}
@@ -1,14 +1,21 @@
 package games.strategy.triplea.odds.calculator;
 
+import com.google.common.cache.CacheStats;
+import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GamePlayer;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
 import games.strategy.engine.framework.GameDataManager;
 import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.triplea.util.TuvCostsCalculator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
@@ -17,6 +24,8 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 import lombok.extern.slf4j.Slf4j;
+import org.triplea.java.collections.IntegerMap;
+import org.triplea.util.Tuple;
 
 /**
  * Concurrent wrapper class for the OddsCalculator. It spawns multiple worker threads and splits up
@@ -26,8 +35,34 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ConcurrentBattleCalculator implements IBattleCalculator {
   private static final int MAX_THREADS = Runtime.getRuntime().availableProcessors();
+  // more changes than this are not replayed onto the workers, copying the data is cheaper then
+  private static final int MAX_CHANGES_TO_REPLAY = 1000;
+  // every worker claims about this many batches of runs per calculation
+  private static final int BATCHES_PER_WORKER = 4;
+  // a calculation with a target precision checks the precision at most this many times
+  private static final int MAX_PRECISION_CHECKS = 10;
+  // but every worker simulates at least this many runs between two checks
+  private static final int MIN_RUNS_PER_WORKER_AND_CHECK = 2;
 
+  // workers copy a snapshot without any units, the units of each battle and its neighbors are
+  // brought in by calculate
+  private final boolean unitlessWorkers;
   private final List<BattleCalculator> workers = new CopyOnWriteArrayList<>();
+  // hands out the runs of the running calculation, null if no calculation is running
+  @Nullable private volatile RunBatchScheduler runBatchScheduler;
+  // lets calculations stop early once the results are precise enough, null to always run all
+  @Nullable private TargetPrecision targetPrecision;
+  // the options passed on to the workers, also to ones created later on
+  private boolean keepOneAttackingLandUnit = false;
+  private boolean amphibious = false;
+  private int retreatAfterRound = -1;
+  private int retreatAfterXUnitsLeft = -1;
+  @Nullable private String attackerOrderOfLosses = null;
+  @Nullable private String defenderOrderOfLosses = null;
+  // caches the results of equal battles until the game data changes, null if disabled
+  @Nullable private BattleResultsCache resultsCache;
+  // records the changes of the game data the workers were copied from
+  @Nullable private ChangeRecorder changeRecorder;
   // do not let calc be set up til data is set
   private volatile boolean isDataSet = false;
   // shortcut setting of previous game data if we are trying to set it to a new one, or shutdown
@@ -42,6 +77,23 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
   // do not let multiple calculations or setting calc data happen at same time
   private final Object mutexCalcIsRunning = new Object();
 
+  public ConcurrentBattleCalculator() {
+    this(false);
+  }
+
+  /**
+   * Creates a new calculator.
+   *
+   * @param unitlessWorkers If true, all workers are created from one snapshot of the game data
+   *     that has every unit removed. Every worker still deserializes its own copy of the map and
+   *     rule data, only the memory and copy time of the units are saved per worker. Each
+   *     calculation copies the units of the battle and of its neighboring territories into the
+   *     workers once, so a worker holds those units in addition to the map and rule data.
+   */
+  public ConcurrentBattleCalculator(final boolean unitlessWorkers) {
+    this.unitlessWorkers = unitlessWorkers;
+  }
+
   /** Return value may be ignored. Exceptions are being handled properly. */
   public CompletableFuture<Boolean> setGameData(@Nullable final GameData data) {
     // cancel any current setting of data
@@ -65,7 +117,10 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
     synchronized (mutexCalcIsRunning) {
       cancel();
       cancelCurrentOperation.incrementAndGet();
-      isDataSet = createWorkers(data);
+      if (resultsCache != null) {
+        resultsCache.invalidateAll();
+      }
+      isDataSet = (isDataSet && replayChanges(data)) || createWorkers(data);
       return isDataSet;
     }
   }
@@ -110,8 +165,54 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
     return Math.min(numberOfTimesWeCanCopyMax, MAX_THREADS);
   }
 
+  /**
+   * Tries to bring the existing workers up to date with {@code data} by replaying the changes
+   * recorded since they were created.
+   *
+   * @return false if the workers have to be created from scratch instead.
+   */
+  private boolean replayChanges(@Nullable final GameData data) {
+    if (data == null
+        || workers.isEmpty()
+        || changeRecorder == null
+        || !changeRecorder.isRecording(data)) {
+      return false;
+    }
+    final List<Change> changes = changeRecorder.drainChanges().orElse(null);
+    if (changes == null) {
+      return false;
+    }
+    try {
+      final byte[] serializedChanges;
+      final int round;
+      final int stepIndex;
+      try (GameData.Unlocker ignored = data.acquireWriteLock()) {
+        serializedChanges = GameDataUtils.gameObjectToBytes(changes);
+        round = data.getSequence().getRound() - data.getSequence().getRoundOffset();
+        stepIndex = data.getSequence().getStepIndex();
+      }
+      workers.parallelStream()
+          .filter(worker -> cancelCurrentOperation.get() >= 0)
+          .forEach(
+              worker ->
+                  worker.applyChanges(serializedChanges, round, stepIndex));
+    } catch (final RuntimeException e) {
+      log.warn("Failed to replay changes onto the battle calculator workers, copying instead", e);
+      return false;
+    }
+    return cancelCurrentOperation.get() >= 0;
+  }
+
+  private void stopRecordingChanges() {
+    if (changeRecorder != null) {
+      changeRecorder.stop();
+      changeRecorder = null;
+    }
+  }
+
   private boolean createWorkers(@Nullable final GameData data) {
     workers.clear();
+    stopRecordingChanges();
     if (data != null && cancelCurrentOperation.get() >= 0) {
       // see how long 1 copy takes (some games can get REALLY big)
       final long startTime = System.currentTimeMillis();
@@ -127,23 +228,36 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
         if (serializedData == null) {
           return false;
         }
+        // start recording while still holding the lock so no change gets lost between the copy and
+        // the next call of setGameData
+        changeRecorder = new ChangeRecorder(data, MAX_CHANGES_TO_REPLAY);
+        changeRecorder.start();
+      }
+      final byte[] workerData =
+          unitlessWorkers
+              ? createUnitlessSnapshot(serializedData).orElse(null)
+              : serializedData;
+      if (workerData == null) {
+        return false;
       }
       if (cancelCurrentOperation.get() >= 0) {
         // Create the first battle calc on the current thread to measure the end-to-end copy time.
-        workers.add(new BattleCalculator(serializedData));
+        workers.add(new BattleCalculator(workerData, unitlessWorkers));
         int threadsToUse = getThreadsToUse((System.currentTimeMillis() - startTime), startMemory);
         // Now, create the remaining ones in parallel.
         workers.addAll(
             IntStream.range(1, threadsToUse)
                 .parallel()
                 .filter(j -> cancelCurrentOperation.get() >= 0)
-                .mapToObj(j -> new BattleCalculator(serializedData))
+                .mapToObj(j -> new BattleCalculator(workerData, unitlessWorkers))
                 .collect(Collectors.toList()));
+        workers.forEach(this::applyOptions);
       }
     }
     if (cancelCurrentOperation.get() < 0 || data == null) {
       // we could have cancelled while setting data, so clear the workers again if so
       workers.clear();
+      stopRecordingChanges();
       return false;
     }
     // should make sure that all workers have their game data set before
@@ -151,6 +265,25 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
     return true;
   }
 
+  private void applyOptions(final BattleCalculator worker) {
+    worker.setKeepOneAttackingLandUnit(keepOneAttackingLandUnit);
+    worker.setAmphibious(amphibious);
+    worker.setRetreatAfterRound(retreatAfterRound);
+    worker.setRetreatAfterXUnitsLeft(retreatAfterXUnitsLeft);
+    worker.setAttackerOrderOfLosses(attackerOrderOfLosses);
+    worker.setDefenderOrderOfLosses(defenderOrderOfLosses);
+  }
+
+  private static Optional<byte[]> createUnitlessSnapshot(final byte[] serializedData) {
+    return GameDataUtils.createGameDataFromBytes(serializedData)
+        .flatMap(
+            copy -> {
+              BattleCalculator.removeAllUnits(copy);
+              return GameDataUtils.gameDataToBytes(
+                  copy, GameDataManager.Options.forBattleCalculator());
+            });
+  }
+
   /**
    * Concurrently calculates odds using the OddsCalculatorWorker. It uses Executor to process the
    * results. Then waits for all the future results and combines them together.
@@ -173,39 +306,260 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
       if (!isDataSet) {
         // we could have attempted to set a new game data, while the old one was still being set,
         // causing it to abort with null data
-        return new AggregateResults(0);
+        return new AggregateResults();
+      }
+      // the units next to the battle may have changed since the previous calculation
+      workers.forEach(BattleCalculator::forgetNeighborUnits);
+      final AggregateResults results;
+      if (resultsCache == null
+          || !BattleResultsCache.isCacheable(attacking)
+          || !BattleResultsCache.isCacheable(defending)
+          || !BattleResultsCache.isCacheable(bombarding)) {
+        results =
+            calculateUncached(
+                    attacker,
+                    defender,
+                    location,
+                    attacking,
+                    defending,
+                    bombarding,
+                    territoryEffects,
+                    retreatWhenOnlyAirLeft,
+                    runCount)
+                .results();
+      } else {
+        final var signature =
+            BattleResultsCache.Signature.of(
+                attacker,
+                defender,
+                location,
+                attacking,
+                defending,
+                bombarding,
+                territoryEffects,
+                retreatWhenOnlyAirLeft,
+                runCount,
+                // Arrays.asList since the order of losses may be null
+                Arrays.asList(
+                    keepOneAttackingLandUnit,
+                    amphibious,
+                    retreatAfterRound,
+                    retreatAfterXUnitsLeft,
+                    attackerOrderOfLosses,
+                    defenderOrderOfLosses,
+                    targetPrecision));
+        results =
+            resultsCache.getOrCalculate(
+                signature,
+                attacking,
+                defending,
+                () ->
+                    calculateUncached(
+                        attacker,
+                        defender,
+                        location,
+                        attacking,
+                        defending,
+                        bombarding,
+                        territoryEffects,
+                        retreatWhenOnlyAirLeft,
+                        runCount));
       }
-      final var runCountDistributor = new RunCountDistributor(runCount, workers.size());
-      final AggregateResults results =
-          new AggregateResults(
-              workers.parallelStream()
-                  .map(
-                      worker ->
-                          // Note: Although we're running in parallel, the data passed in does not
-                          // get modified, so no copies are necessary. Also, the outer calculate()
-                          // call is synchronous, so there's no problem if the caller later modifies
-                          // the collections that were provided.
-                          worker.calculate(
-                              attacker,
-                              defender,
-                              location,
-                              attacking,
-                              defending,
-                              bombarding,
-                              territoryEffects,
-                              retreatWhenOnlyAirLeft,
-                              runCountDistributor.nextRunCount()))
-                  .map(AggregateResults::getResults)
-                  .flatMap(Collection::parallelStream)
-                  .collect(Collectors.toList()));
       results.setTime(System.currentTimeMillis() - start);
       return results;
     }
   }
 
+  private BattleResultsCache.Calculation calculateUncached(
+      final GamePlayer attacker,
+      final GamePlayer defender,
+      final Territory location,
+      final Collection<Unit> attacking,
+      final Collection<Unit> defending,
+      final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects,
+      final boolean retreatWhenOnlyAirLeft,
+      final int runCount) {
+    if (targetPrecision != null) {
+      return calculateUntilPrecise(
+          attacker,
+          defender,
+          location,
+          attacking,
+          defending,
+          bombarding,
+          territoryEffects,
+          retreatWhenOnlyAirLeft,
+          runCount,
+          targetPrecision);
+    }
+    final AggregateResults results = new AggregateResults();
+    calculateRuns(
+            attacker,
+            defender,
+            location,
+            attacking,
+            defending,
+            bombarding,
+            territoryEffects,
+            retreatWhenOnlyAirLeft,
+            runCount)
+        .forEach(results::addResults);
+    // fewer runs than requested means the calculation was cancelled
+    return new BattleResultsCache.Calculation(results, results.getRollCount() >= runCount);
+  }
+
+  /**
+   * Simulates the battle step by step until either {@code targetPrecision} or {@code maxRunCount}
+   * runs are reached. The returned results report the number of runs actually used.
+   */
+  private BattleResultsCache.Calculation calculateUntilPrecise(
+      final GamePlayer attacker,
+      final GamePlayer defender,
+      final Territory location,
+      final Collection<Unit> attacking,
+      final Collection<Unit> defending,
+      final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects,
+      final boolean retreatWhenOnlyAirLeft,
+      final int maxRunCount,
+      final TargetPrecision targetPrecision) {
+    final TuvCostsCalculator tuvCalculator = new TuvCostsCalculator();
+    final IntegerMap<UnitType> attackerCostsForTuv =
+        attacker == null ? new IntegerMap<>() : tuvCalculator.getCostsForTuv(attacker);
+    final IntegerMap<UnitType> defenderCostsForTuv =
+        defender == null ? new IntegerMap<>() : tuvCalculator.getCostsForTuv(defender);
+    final int runsPerCheck =
+        Math.max(
+            workers.size() * MIN_RUNS_PER_WORKER_AND_CHECK, maxRunCount / MAX_PRECISION_CHECKS);
+    final AggregateResults results = new AggregateResults();
+    final List<TargetPrecision.BatchMean> tuvSwingBatchMeans = new ArrayList<>();
+    boolean cancelled = false;
+    while (results.getRollCount() < maxRunCount) {
+      final int runCount = Math.min(runsPerCheck, maxRunCount - results.getRollCount());
+      final List<AggregateResults> batchResults =
+          calculateRuns(
+              attacker,
+              defender,
+              location,
+              attacking,
+              defending,
+              bombarding,
+              territoryEffects,
+              retreatWhenOnlyAirLeft,
+              runCount);
+      int rolls = 0;
+      for (final AggregateResults batch : batchResults) {
+        results.addResults(batch);
+        rolls += batch.getRollCount();
+        if (batch.getRollCount() > 0) {
+          // the TUV swing only differs from the TUV left over by the constant starting TUV
+          final Tuple<Double, Double> tuvLeft =
+              batch.getAverageTuvOfUnitsLeftOver(attackerCostsForTuv, defenderCostsForTuv);
+          tuvSwingBatchMeans.add(
+              new TargetPrecision.BatchMean(
+                  tuvLeft.getFirst() - tuvLeft.getSecond(), batch.getRollCount()));
+        }
+      }
+      // fewer runs than requested means the calculation was cancelled
+      cancelled = rolls < runCount;
+      if (cancelled || targetPrecision.isReachedBy(results, tuvSwingBatchMeans)) {
+        break;
+      }
+    }
+    return new BattleResultsCache.Calculation(results, !cancelled);
+  }
+
+  /**
+   * Lets the workers simulate {@code runCount} runs. Every worker keeps claiming small batches of
+   * runs until all runs are claimed, the results of each batch are returned separately.
+   */
+  private List<AggregateResults> calculateRuns(
+      final GamePlayer attacker,
+      final GamePlayer defender,
+      final Territory location,
+      final Collection<Unit> attacking,
+      final Collection<Unit> defending,
+      final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects,
+      final boolean retreatWhenOnlyAirLeft,
+      final int runCount) {
+    final var scheduler =
+        new RunBatchScheduler(
+            runCount, Math.max(1, runCount / (workers.size() * BATCHES_PER_WORKER)));
+    runBatchScheduler = scheduler;
+    try {
+      return workers.parallelStream()
+          .flatMap(
+              worker -> {
+                final List<AggregateResults> batchResults = new ArrayList<>();
+                for (int batchRunCount = scheduler.claimBatch();
+                    batchRunCount > 0;
+                    batchRunCount = scheduler.claimBatch()) {
+                  // Note: Although we're running in parallel, the data passed in does not get
+                  // modified, so no copies are necessary. Also, the outer calculate() call is
+                  // synchronous, so there's no problem if the caller later modifies the
+                  // collections that were provided.
+                  final AggregateResults results =
+                      worker.calculate(
+                          attacker,
+                          defender,
+                          location,
+                          attacking,
+                          defending,
+                          bombarding,
+                          territoryEffects,
+                          retreatWhenOnlyAirLeft,
+                          batchRunCount);
+                  batchResults.add(results);
+                  if (results.getRollCount() < batchRunCount) {
+                    // the worker was cancelled, make the other workers stop as well
+                    scheduler.cancel();
+                  }
+                }
+                return batchResults.stream();
+              })
+          .collect(Collectors.toList());
+    } finally {
+      runBatchScheduler = null;
+    }
+  }
+
+  /**
+   * Lets following calculations stop as soon as the results reach {@code targetPrecision}. The run
+   * count passed to {@link #calculate} is then only an upper bound. Pass null to always simulate
+   * the full run count.
+   */
+  public void setTargetPrecision(@Nullable final TargetPrecision targetPrecision) {
+    synchronized (mutexCalcIsRunning) {
+      this.targetPrecision = targetPrecision;
+    }
+  }
+
+  /**
+   * Lets following calculations reuse the results of an earlier calculation of an equal battle,
+   * i.e. one with units of the same type, owner, damage and battle relevant state, as long as the
+   * game data doesn't change. Battles with transported units are never reused. At most {@code
+   * maxSize} results are kept, the least recently used ones are evicted first. Pass 0 to disable
+   * the cache.
+   */
+  public void setResultsCacheSize(final int maxSize) {
+    synchronized (mutexCalcIsRunning) {
+      resultsCache = maxSize > 0 ? new BattleResultsCache(maxSize) : null;
+    }
+  }
+
+  /** Returns the hit and miss statistics of the results cache, empty if it is disabled. */
+  public Optional<CacheStats> getResultsCacheStats() {
+    synchronized (mutexCalcIsRunning) {
+      return Optional.ofNullable(resultsCache).map(BattleResultsCache::stats);
+    }
+  }
+
   public void setKeepOneAttackingLandUnit(final boolean bool) {
     waitForGameDataReady();
     synchronized (mutexCalcIsRunning) {
+      keepOneAttackingLandUnit = bool;
       for (final BattleCalculator worker : workers) {
         worker.setKeepOneAttackingLandUnit(bool);
       }
@@ -215,6 +569,7 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
   public void setAmphibious(final boolean bool) {
     waitForGameDataReady();
     synchronized (mutexCalcIsRunning) {
+      amphibious = bool;
       for (final BattleCalculator worker : workers) {
         worker.setAmphibious(bool);
       }
@@ -224,6 +579,7 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
   public void setRetreatAfterRound(final int value) {
     waitForGameDataReady();
     synchronized (mutexCalcIsRunning) {
+      retreatAfterRound = value;
       for (final BattleCalculator worker : workers) {
         worker.setRetreatAfterRound(value);
       }
@@ -233,6 +589,7 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
   public void setRetreatAfterXUnitsLeft(final int value) {
     waitForGameDataReady();
     synchronized (mutexCalcIsRunning) {
+      retreatAfterXUnitsLeft = value;
       for (final BattleCalculator worker : workers) {
         worker.setRetreatAfterXUnitsLeft(value);
       }
@@ -242,6 +599,7 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
   public void setAttackerOrderOfLosses(final String attackerOrderOfLosses) {
     waitForGameDataReady();
     synchronized (mutexCalcIsRunning) {
+      this.attackerOrderOfLosses = attackerOrderOfLosses;
       for (final BattleCalculator worker : workers) {
         worker.setAttackerOrderOfLosses(attackerOrderOfLosses);
       }
@@ -251,6 +609,7 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
   public void setDefenderOrderOfLosses(final String defenderOrderOfLosses) {
     waitForGameDataReady();
     synchronized (mutexCalcIsRunning) {
+      this.defenderOrderOfLosses = defenderOrderOfLosses;
       for (final BattleCalculator worker : workers) {
         worker.setDefenderOrderOfLosses(defenderOrderOfLosses);
       }
@@ -259,6 +618,10 @@ public class ConcurrentBattleCalculator implements IBattleCalculator {
 
   // not on purpose, we need to be able to cancel at any time
   public void cancel() {
+    final RunBatchScheduler scheduler = runBatchScheduler;
+    if (scheduler != null) {
+      scheduler.cancel();
+    }
     for (final BattleCalculator worker : workers) {
       worker.cancel();
     }
@@ -35,7 +35,6 @@ public class DummyDelegateBridge implements IDelegateBridge {
   private final DummyPlayer defendingPlayer;
   private final GamePlayer attacker;
   private final DelegateHistoryWriter writer = DelegateHistoryWriter.createNoOpImplementation();
-  private final CompositeChange allChanges;
   private final GameData gameData;
   @Getter private MustFightBattle battle = null;
   private final TuvCostsCalculator tuvCalculator;
@@ -43,7 +42,6 @@ public class DummyDelegateBridge implements IDelegateBridge {
   public DummyDelegateBridge(
       final GamePlayer attacker,
       final GameData data,
-      final CompositeChange allChanges,
       final List<Unit> attackerOrderOfLosses,
       final List<Unit> defenderOrderOfLosses,
       final boolean attackerKeepOneLandUnit,
@@ -73,7 +71,6 @@ public class DummyDelegateBridge implements IDelegateBridge {
             false);
     gameData = data;
     this.attacker = attacker;
-    this.allChanges = allChanges;
     this.tuvCalculator = tuvCalculator;
   }
 
@@ -149,8 +146,9 @@ public class DummyDelegateBridge implements IDelegateBridge {
 
   @Override
   public void addChange(final Change change) {
+    // only the damage matters for the outcome of the battle, BattleCalculator reverts it after
+    // every run
     if (change instanceof UnitDamageReceivedChange) {
-      allChanges.add(change);
       gameData.performChange(change);
     } else if (change instanceof CompositeChange compositeChange) {
       compositeChange.getChanges().forEach(this::addChange);
@@ -0,0 +1,497 @@
+package games.strategy.triplea.odds.calculator;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.Properties;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.attachments.UnitSupportAttachment;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.delegate.battle.BattleResults;
+import games.strategy.triplea.delegate.battle.BattleState;
+import games.strategy.triplea.delegate.battle.IBattle.WhoWon;
+import games.strategy.triplea.delegate.battle.casualty.CasualtySelector;
+import games.strategy.triplea.delegate.power.calculator.CombatValue;
+import games.strategy.triplea.delegate.power.calculator.CombatValueBuilder;
+import games.strategy.triplea.delegate.power.calculator.PowerStrengthAndRolls;
+import games.strategy.triplea.delegate.power.calculator.UnitPowerStrengthAndRolls;
+import games.strategy.triplea.util.TuvCostsCalculator;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import lombok.AllArgsConstructor;
+
+/**
+ * Battle calculator that computes the outcome distribution of a battle analytically instead of
+ * simulating it.
+ *
+ * <p>The battle is treated as a Markov chain over the number of hits each side has absorbed so far.
+ * Casualties are taken in the default order of losses (extra hit points first, then units from the
+ * cheapest/weakest to the strongest), so the hits absorbed uniquely determine which units are still
+ * alive and thereby the hit distribution of the next round, for both dice and low luck.
+ *
+ * <p>Only ordinary battles can be modelled this way. Whenever a battle uses a feature the chain
+ * cannot represent (AA, first strike, bombarding, support attachments, retreats, restricted
+ * transports, ...) the calculation is delegated to the fallback calculator, usually the Monte Carlo
+ * based {@link ConcurrentBattleCalculator}.
+ *
+ * <p>The exact distribution is turned into an {@link AggregateResults} holding {@code runCount}
+ * results whose frequencies match the computed probabilities as closely as possible, so callers can
+ * query it exactly like a simulated one.
+ */
+public class ExactBattleCalculator implements IBattleCalculator {
+  /** Upper bound on the number of state transitions of a single calculation. */
+  private static final long MAX_TRANSITIONS = 20_000_000L;
+  /** Probability mass below which a state is not expanded any further. */
+  private static final double EPSILON = 1e-12;
+
+  private final IBattleCalculator fallback;
+
+  public ExactBattleCalculator(final IBattleCalculator fallback) {
+    this.fallback = fallback;
+  }
+
+  @Override
+  public AggregateResults calculate(
+      final GamePlayer attacker,
+      final GamePlayer defender,
+      final Territory location,
+      final Collection<Unit> attacking,
+      final Collection<Unit> defending,
+      final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects,
+      final boolean retreatWhenOnlyAirLeft,
+      final int runCount) {
+    return solve(
+            attacker,
+            defender,
+            location,
+            attacking,
+            defending,
+            bombarding,
+            territoryEffects,
+            retreatWhenOnlyAirLeft,
+            runCount)
+        .orElseGet(
+            () ->
+                fallback.calculate(
+                    attacker,
+                    defender,
+                    location,
+                    attacking,
+                    defending,
+                    bombarding,
+                    territoryEffects,
+                    retreatWhenOnlyAirLeft,
+                    runCount));
+  }
+
+  /**
+   * Computes the outcome distribution of the battle analytically.
+   *
+   * @return The results or empty if the battle uses features which can't be modelled exactly.
+   */
+  Optional<AggregateResults> solve(
+      final GamePlayer attacker,
+      final GamePlayer defender,
+      final Territory location,
+      final Collection<Unit> attacking,
+      final Collection<Unit> defending,
+      final Collection<Unit> bombarding,
+      final Collection<TerritoryEffect> territoryEffects,
+      final boolean retreatWhenOnlyAirLeft,
+      final int runCount) {
+    if (attacker == null
+        || defender == null
+        || runCount <= 0
+        || retreatWhenOnlyAirLeft
+        || attacking.isEmpty()
+        || defending.isEmpty()
+        || !bombarding.isEmpty()) {
+      return Optional.empty();
+    }
+    final GameData data = location.getData();
+    if (!areUnitsSupported(attacking, defending, data)) {
+      return Optional.empty();
+    }
+    final boolean lowLuck = Properties.getLowLuck(data.getProperties());
+    final TuvCostsCalculator tuvCalculator = new TuvCostsCalculator();
+    final Optional<SideModel> attackerModel =
+        SideModel.build(
+            attacking,
+            defending,
+            BattleState.Side.OFFENSE,
+            attacker,
+            location,
+            territoryEffects,
+            tuvCalculator,
+            lowLuck);
+    final Optional<SideModel> defenderModel =
+        SideModel.build(
+            defending,
+            attacking,
+            BattleState.Side.DEFENSE,
+            defender,
+            location,
+            territoryEffects,
+            tuvCalculator,
+            lowLuck);
+    if (attackerModel.isEmpty() || defenderModel.isEmpty()) {
+      return Optional.empty();
+    }
+    final long estimatedTransitions =
+        (long) (attackerModel.get().slots + 1)
+            * (defenderModel.get().slots + 1)
+            * attackerModel.get().hitDistributions[0].length
+            * defenderModel.get().hitDistributions[0].length;
+    if (estimatedTransitions > MAX_TRANSITIONS) {
+      return Optional.empty();
+    }
+
+    final long start = System.currentTimeMillis();
+    final int maxRounds =
+        location.isWater()
+            ? Properties.getSeaBattleRounds(data.getProperties())
+            : Properties.getLandBattleRounds(data.getProperties());
+    final List<Outcome> outcomes =
+        maxRounds > 0
+            ? solveRoundByRound(attackerModel.get(), defenderModel.get(), maxRounds)
+            : solveUnlimitedRounds(attackerModel.get(), defenderModel.get());
+    if (outcomes.isEmpty()) {
+      return Optional.empty();
+    }
+    final AggregateResults results =
+        toAggregateResults(outcomes, attackerModel.get(), defenderModel.get(), runCount, data);
+    results.setTime(System.currentTimeMillis() - start);
+    return Optional.of(results);
+  }
+
+  private static boolean areUnitsSupported(
+      final Collection<Unit> attacking, final Collection<Unit> defending, final GameData data) {
+    final Predicate<Unit> unsupported =
+        Matches.unitIsFirstStrike()
+            .or(Matches.unitIsSuicideOnAttack())
+            .or(Matches.unitIsSuicideOnDefense())
+            .or(Matches.unitIsSuicideOnHit())
+            .or(Matches.unitCanNotBeTargetedByAll())
+            .or(Matches.unitCanEvade())
+            .or(Matches.unitIsInfrastructure())
+            .or(Matches.unitIsAaForAnything())
+            .or(Matches.unitIsSeaTransport())
+            .or(Matches.unitIsBeingTransported())
+            .or(
+                unit -> {
+                  final UnitAttachment ua = unit.getUnitAttachment();
+                  return !ua.getCanNotTarget().isEmpty()
+                      || !ua.getWhenHitPointsDamagedChangesInto().isEmpty()
+                      || !ua.getWhenCombatDamaged().isEmpty();
+                });
+    if (attacking.stream().anyMatch(unsupported) || defending.stream().anyMatch(unsupported)) {
+      return false;
+    }
+    // supports change the strength of units whenever a supporter dies, which breaks the
+    // assumption that the surviving units are fixed by the number of hits taken
+    final Set<UnitType> unitTypes = new HashSet<>();
+    attacking.forEach(unit -> unitTypes.add(unit.getType()));
+    defending.forEach(unit -> unitTypes.add(unit.getType()));
+    for (final UnitSupportAttachment rule : data.getUnitTypeList().getSupportRules()) {
+      if (unitTypes.contains(rule.getAttachedTo())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Solves a battle without a round limit. States are visited in topological order (hits only ever
+   * increase) and the probability of a round without any hits is eliminated analytically.
+   */
+  private static List<Outcome> solveUnlimitedRounds(
+      final SideModel attacker, final SideModel defender) {
+    final double[][] probability = new double[attacker.slots + 1][defender.slots + 1];
+    // probability weighted sum of the rounds needed to reach a state
+    final double[][] rounds = new double[attacker.slots + 1][defender.slots + 1];
+    probability[0][0] = 1.0;
+    final List<Outcome> outcomes = new ArrayList<>();
+    for (int a = 0; a <= attacker.slots; a++) {
+      for (int d = 0; d <= defender.slots; d++) {
+        final double mass = probability[a][d];
+        if (mass < EPSILON) {
+          continue;
+        }
+        if (a == attacker.slots || d == defender.slots) {
+          outcomes.add(new Outcome(a, d, mass, rounds[a][d] / mass));
+          continue;
+        }
+        final double[] attackerHits = attacker.getHitDistribution(a);
+        final double[] defenderHits = defender.getHitDistribution(d);
+        final double leave = 1.0 - attackerHits[0] * defenderHits[0];
+        if (leave < EPSILON) {
+          // nobody can ever score a hit, the battle ends in a stalemate
+          outcomes.add(new Outcome(a, d, mass, rounds[a][d] / mass + 1));
+          continue;
+        }
+        final double roundsWhenLeaving = rounds[a][d] + mass / leave;
+        for (int i = 0; i < attackerHits.length; i++) {
+          if (attackerHits[i] == 0) {
+            continue;
+          }
+          final int nextD = Math.min(d + i, defender.slots);
+          for (int j = (i == 0 ? 1 : 0); j < defenderHits.length; j++) {
+            final double q = attackerHits[i] * defenderHits[j] / leave;
+            if (q == 0) {
+              continue;
+            }
+            final int nextA = Math.min(a + j, attacker.slots);
+            probability[nextA][nextD] += mass * q;
+            rounds[nextA][nextD] += roundsWhenLeaving * q;
+          }
+        }
+      }
+    }
+    return outcomes;
+  }
+
+  /** Solves a battle with a round limit by advancing the distribution one round at a time. */
+  private static List<Outcome> solveRoundByRound(
+      final SideModel attacker, final SideModel defender, final int maxRounds) {
+    double[][] probability = new double[attacker.slots + 1][defender.slots + 1];
+    probability[0][0] = 1.0;
+    final List<Outcome> outcomes = new ArrayList<>();
+    for (int round = 1; round <= maxRounds; round++) {
+      final double[][] next = new double[attacker.slots + 1][defender.slots + 1];
+      boolean anyMass = false;
+      for (int a = 0; a < attacker.slots; a++) {
+        for (int d = 0; d < defender.slots; d++) {
+          final double mass = probability[a][d];
+          if (mass < EPSILON) {
+            continue;
+          }
+          final double[] attackerHits = attacker.getHitDistribution(a);
+          final double[] defenderHits = defender.getHitDistribution(d);
+          for (int i = 0; i < attackerHits.length; i++) {
+            if (attackerHits[i] == 0) {
+              continue;
+            }
+            final int nextD = Math.min(d + i, defender.slots);
+            for (int j = 0; j < defenderHits.length; j++) {
+              final double q = attackerHits[i] * defenderHits[j];
+              if (q == 0) {
+                continue;
+              }
+              next[Math.min(a + j, attacker.slots)][nextD] += mass * q;
+            }
+          }
+        }
+      }
+      for (int a = 0; a <= attacker.slots; a++) {
+        for (int d = 0; d <= defender.slots; d++) {
+          if (next[a][d] < EPSILON) {
+            continue;
+          }
+          if (a == attacker.slots || d == defender.slots || round == maxRounds) {
+            outcomes.add(new Outcome(a, d, next[a][d], round));
+            next[a][d] = 0;
+          } else {
+            anyMass = true;
+          }
+        }
+      }
+      if (!anyMass) {
+        break;
+      }
+      probability = next;
+    }
+    return outcomes;
+  }
+
+  /**
+   * Distributes {@code runCount} results over the outcomes proportional to their probability using
+   * the largest remainder method.
+   */
+  private static AggregateResults toAggregateResults(
+      final List<Outcome> outcomes,
+      final SideModel attacker,
+      final SideModel defender,
+      final int runCount,
+      final GameData data) {
+    final double totalProbability = outcomes.stream().mapToDouble(o -> o.probability).sum();
+    final int[] counts = new int[outcomes.size()];
+    int assigned = 0;
+    for (int i = 0; i < outcomes.size(); i++) {
+      counts[i] = (int) Math.floor(outcomes.get(i).probability / totalProbability * runCount);
+      assigned += counts[i];
+    }
+    final List<Integer> byRemainder = new ArrayList<>();
+    for (int i = 0; i < outcomes.size(); i++) {
+      byRemainder.add(i);
+    }
+    byRemainder.sort(
+        Comparator.comparingDouble(
+                (Integer i) -> {
+                  final double exact = outcomes.get(i).probability / totalProbability * runCount;
+                  return exact - Math.floor(exact);
+                })
+            .reversed());
+    for (int k = 0; assigned < runCount; k = (k + 1) % byRemainder.size()) {
+      counts[byRemainder.get(k)]++;
+      assigned++;
+    }
+
+    final AggregateResults results = new AggregateResults();
+    for (int i = 0; i < outcomes.size(); i++) {
+      final Outcome outcome = outcomes.get(i);
+      final WhoWon whoWon;
+      if (outcome.attackerHits == attacker.slots) {
+        whoWon = WhoWon.DEFENDER;
+      } else if (outcome.defenderHits == defender.slots) {
+        whoWon = WhoWon.ATTACKER;
+      } else {
+        whoWon = WhoWon.DRAW;
+      }
+      final int battleRounds = Math.max(1, (int) Math.round(outcome.rounds));
+      final BattleResults result =
+          new BattleResults(
+              battleRounds,
+              attacker.getRemainingUnits(outcome.attackerHits),
+              defender.getRemainingUnits(outcome.defenderHits),
+              whoWon,
+              data);
+      for (int n = 0; n < counts[i]; n++) {
+        results.addResult(result);
+      }
+    }
+    return results;
+  }
+
+  @AllArgsConstructor
+  private static final class Outcome {
+    private final int attackerHits;
+    private final int defenderHits;
+    private final double probability;
+    private final double rounds;
+  }
+
+  /** The units of one side in the order they are taken as casualties. */
+  private static final class SideModel {
+    private final List<Unit> casualtyOrder;
+    // hits absorbed by damaging multi hit point units before the first unit is killed
+    private final int extraHitPoints;
+    private final int slots;
+    // index k: the distribution of hits scored by the units still alive after k units were killed
+    private final double[][] hitDistributions;
+
+    private SideModel(
+        final List<Unit> casualtyOrder,
+        final int extraHitPoints,
+        final double[][] hitDistributions) {
+      this.casualtyOrder = casualtyOrder;
+      this.extraHitPoints = extraHitPoints;
+      this.slots = extraHitPoints + casualtyOrder.size();
+      this.hitDistributions = hitDistributions;
+    }
+
+    private int getKilled(final int hitsTaken) {
+      return Math.max(0, hitsTaken - extraHitPoints);
+    }
+
+    double[] getHitDistribution(final int hitsTaken) {
+      return hitDistributions[getKilled(hitsTaken)];
+    }
+
+    List<Unit> getRemainingUnits(final int hitsTaken) {
+      return new ArrayList<>(casualtyOrder.subList(getKilled(hitsTaken), casualtyOrder.size()));
+    }
+
+    static Optional<SideModel> build(
+        final Collection<Unit> units,
+        final Collection<Unit> enemyUnits,
+        final BattleState.Side side,
+        final GamePlayer player,
+        final Territory location,
+        final Collection<TerritoryEffect> territoryEffects,
+        final TuvCostsCalculator tuvCalculator,
+        final boolean lowLuck) {
+      final GameData data = location.getData();
+      final CombatValue combatValue =
+          CombatValueBuilder.mainCombatValue()
+              .enemyUnits(enemyUnits)
+              .friendlyUnits(units)
+              .side(side)
+              .gameSequence(data.getSequence())
+              .supportAttachments(data.getUnitTypeList().getSupportRules())
+              .lhtrHeavyBombers(Properties.getLhtrHeavyBombers(data.getProperties()))
+              .gameDiceSides(data.getDiceSides())
+              .territoryEffects(territoryEffects)
+              .build();
+      final PowerStrengthAndRolls powerStrengthAndRolls =
+          PowerStrengthAndRolls.build(units, combatValue);
+      final List<Unit> casualtyOrder =
+          CasualtySelector.getCasualtyOrderOfLoss(
+              units, player, combatValue, location, tuvCalculator.getCostsForTuv(player), data);
+
+      int extraHitPoints = 0;
+      final int size = casualtyOrder.size();
+      final List<UnitPowerStrengthAndRolls> values = new ArrayList<>(size);
+      for (final Unit unit : casualtyOrder) {
+        final UnitPowerStrengthAndRolls value =
+            powerStrengthAndRolls.getTotalStrengthAndTotalRollsByUnit().get(unit);
+        if (value == null
+            || value.getStrength() <= 0
+            || value.getRolls() <= 0
+            || value.getChooseBestRoll()
+            || (lowLuck && value.getDiceSides() != data.getDiceSides())) {
+          return Optional.empty();
+        }
+        values.add(value);
+        extraHitPoints += Math.max(0, unit.getUnitAttachment().getHitPoints() - 1 - unit.getHits());
+      }
+
+      final double[][] hitDistributions = new double[size + 1][];
+      hitDistributions[size] = new double[] {1.0};
+      int totalPower = 0;
+      for (int k = size - 1; k >= 0; k--) {
+        final UnitPowerStrengthAndRolls value = values.get(k);
+        if (lowLuck) {
+          totalPower += value.getPower();
+          hitDistributions[k] = lowLuckDistribution(totalPower, data.getDiceSides());
+        } else {
+          final double hitChance =
+              Math.min(value.getStrength(), value.getDiceSides()) / (double) value.getDiceSides();
+          double[] distribution = hitDistributions[k + 1];
+          for (int roll = 0; roll < value.getRolls(); roll++) {
+            distribution = addRoll(distribution, hitChance);
+          }
+          hitDistributions[k] = distribution;
+        }
+      }
+      return Optional.of(new SideModel(casualtyOrder, extraHitPoints, hitDistributions));
+    }
+
+    private static double[] addRoll(final double[] distribution, final double hitChance) {
+      final double[] result = new double[distribution.length + 1];
+      for (int hits = 0; hits < distribution.length; hits++) {
+        result[hits] += distribution[hits] * (1 - hitChance);
+        result[hits + 1] += distribution[hits] * hitChance;
+      }
+      return result;
+    }
+
+    private static double[] lowLuckDistribution(final int power, final int diceSides) {
+      final int guaranteedHits = power / diceSides;
+      final double extraHitChance = (power % diceSides) / (double) diceSides;
+      final double[] result = new double[guaranteedHits + 2];
+      result[guaranteedHits] = 1 - extraHitChance;
+      result[guaranteedHits + 1] = extraHitChance;
+      return result;
+    }
+  }
+}
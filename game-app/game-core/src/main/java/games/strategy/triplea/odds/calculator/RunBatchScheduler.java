@@ -0,0 +1,48 @@
+package games.strategy.triplea.odds.calculator;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Hands out the runs of a calculation in small batches. Workers keep claiming batches until all
+ * runs are claimed, so faster workers simply take more batches and no worker sits idle while a
+ * slow one is still working through a big share.
+ */
+@ThreadSafe
+class RunBatchScheduler {
+  private final int runCount;
+  private final int batchSize;
+  private final AtomicInteger claimedRuns = new AtomicInteger(0);
+  private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+  /**
+   * Creates a new RunBatchScheduler.
+   *
+   * @param runCount What all claimed batches should sum up to
+   * @param batchSize The maximum number of runs claimed at once
+   */
+  RunBatchScheduler(final int runCount, final int batchSize) {
+    Preconditions.checkArgument(batchSize > 0, "The batch size has to be positive!");
+    this.runCount = runCount;
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Claims the next batch of runs and returns its size, or 0 if all runs are claimed already or the
+   * calculation was cancelled.
+   */
+  int claimBatch() {
+    if (cancelled.get()) {
+      return 0;
+    }
+    final int claimedBefore = claimedRuns.getAndAdd(batchSize);
+    return Math.max(0, Math.min(batchSize, runCount - claimedBefore));
+  }
+
+  /** Lets all following calls of {@link #claimBatch()} return 0. */
+  void cancel() {
+    cancelled.set(true);
+  }
+}
@@ -0,0 +1,89 @@
+package games.strategy.triplea.odds.calculator;
+
+import com.google.common.base.Preconditions;
+import java.util.Collection;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * The precision a battle simulation should reach before it may stop early. Both values are
+ * half-widths of a 95% confidence interval, i.e. a simulation may stop once the true attacker win
+ * probability is within {@code winPercent} and the true average TUV swing is within {@code
+ * tuvSwing} of the simulated values.
+ */
+@Getter
+@EqualsAndHashCode
+public class TargetPrecision {
+  // the z-score of a two-sided 95% confidence interval
+  private static final double Z = 1.96;
+
+  private final double winPercent;
+  private final double tuvSwing;
+
+  /**
+   * Creates a new target precision.
+   *
+   * @param winPercent the half-width of the confidence interval of the attacker win probability,
+   *     between 0 and 1
+   * @param tuvSwing the half-width of the confidence interval of the average TUV swing
+   */
+  public TargetPrecision(final double winPercent, final double tuvSwing) {
+    Preconditions.checkArgument(winPercent > 0, "winPercent has to be positive: " + winPercent);
+    Preconditions.checkArgument(tuvSwing > 0, "tuvSwing has to be positive: " + tuvSwing);
+    this.winPercent = winPercent;
+    this.tuvSwing = tuvSwing;
+  }
+
+  /**
+   * Returns true if the simulated results are precise enough.
+   *
+   * @param results all results simulated so far
+   * @param tuvSwingBatchMeans the average TUV swing of each batch of runs the results consist of
+   */
+  boolean isReachedBy(
+      final AggregateResults results, final Collection<BatchMean> tuvSwingBatchMeans) {
+    return getWinPercentHalfWidth(results.getRollCount(), results.getAttackerWinPercent())
+            <= winPercent
+        && getTuvSwingHalfWidth(tuvSwingBatchMeans) <= tuvSwing;
+  }
+
+  /**
+   * Uses the Wilson score interval, which unlike the normal approximation doesn't collapse to zero
+   * width when all runs so far were won by the same side.
+   */
+  static double getWinPercentHalfWidth(final int runs, final double winPercent) {
+    if (runs == 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    final double zSquared = Z * Z;
+    return Z
+        / (1 + zSquared / runs)
+        * Math.sqrt(winPercent * (1 - winPercent) / runs + zSquared / (4.0 * runs * runs));
+  }
+
+  /**
+   * Estimates the standard error of the average TUV swing from the variance of the batch averages
+   * (batch means method), as the TUV swing of the single runs is not retained. The average of a
+   * batch varies less the more runs it has, so every batch is weighted by its run count.
+   */
+  static double getTuvSwingHalfWidth(final Collection<BatchMean> batchMeans) {
+    final int batches = batchMeans.size();
+    if (batches < 2) {
+      return Double.POSITIVE_INFINITY;
+    }
+    final int runs = batchMeans.stream().mapToInt(BatchMean::runCount).sum();
+    final double mean =
+        batchMeans.stream().mapToDouble(batch -> batch.runCount() * batch.mean()).sum() / runs;
+    // estimates the variance of a single run, which is the run count times that of a batch average
+    final double runVariance =
+        batchMeans.stream()
+                .mapToDouble(
+                    batch -> batch.runCount() * (batch.mean() - mean) * (batch.mean() - mean))
+                .sum()
+            / (batches - 1);
+    return Z * Math.sqrt(runVariance / runs);
+  }
+
+  /** The average of a value over a batch of {@code runCount} runs. */
+  record BatchMean(double mean, int runCount) {}
+}
@@ -0,0 +1,31 @@
+package games.strategy.triplea.odds.calculator;
+
+import games.strategy.engine.data.Unit;
+import java.util.Collection;
+
+/**
+ * Remembers the hits of units so that a simulated battle can be reverted without creating and
+ * inverting changes. The damage the units receive is the only game data state a simulated battle
+ * changes, see {@link DummyDelegateBridge#addChange}.
+ */
+class UnitHitsCheckpoint {
+  private final Unit[] units;
+  private final int[] hits;
+
+  UnitHitsCheckpoint(final Collection<Unit> units) {
+    this.units = units.toArray(Unit[]::new);
+    hits = new int[this.units.length];
+    for (int i = 0; i < this.units.length; i++) {
+      hits[i] = this.units[i].getHits();
+    }
+  }
+
+  /** Resets the hits of the units to the ones they had when this checkpoint was created. */
+  void restore() {
+    for (int i = 0; i < units.length; i++) {
+      if (units[i].getHits() != hits[i]) {
+        units[i].setHits(hits[i]);
+      }
+    }
+  }
+}
@@ -104,6 +104,10 @@ public class MapPanel extends ImageScrollerLargeView {
   private @Nullable RouteDescription routeDescription;
   private final TileManager tileManager;
   private @Nullable BufferedImage mouseShadowImage = null;
+  // the units drawn in the mouse shadow image and the scales they were drawn at
+  private volatile List<Unit> mouseShadowUnits = List.of();
+  private double mouseShadowUnitScale;
+  private double mouseShadowMapScale;
   private String movementLeftForCurrentUnits = "";
   private ResourceCollection movementFuelCost;
   @Getter private final UiContext uiContext;
@@ -138,6 +142,8 @@ public class MapPanel extends ImageScrollerLargeView {
       new GameDataChangeListener() {
         @Override
         public void gameDataChanged(final Change change) {
+          // the units may look different now, e.g. if they were damaged
+          mouseShadowUnits = List.of();
           // find the players with tech changes
           final Set<GamePlayer> playersWithTechChange = new HashSet<>();
           getPlayersWithTechChanges(change, playersWithTechChange);
@@ -881,6 +887,7 @@ public class MapPanel extends ImageScrollerLargeView {
     if (units == null || units.isEmpty()) {
       movementLeftForCurrentUnits = "";
       mouseShadowImage = null;
+      mouseShadowUnits = List.of();
       SwingUtilities.invokeLater(this::repaint);
       return;
     }
@@ -902,6 +909,16 @@ public class MapPanel extends ImageScrollerLargeView {
       }
     }
 
+    final List<Unit> shadowUnits = List.copyOf(units);
+    final double unitScale = uiContext.getUnitImageFactory().getScaleFactor();
+    // while the mouse moves over the map the same units are shown over and over again
+    if (mouseShadowImage != null
+        && shadowUnits.equals(mouseShadowUnits)
+        && unitScale == mouseShadowUnitScale
+        && scale == mouseShadowMapScale) {
+      SwingUtilities.invokeLater(this::repaint);
+      return;
+    }
     final List<UnitCategory> categories =
         UnitSeparator.getSortedUnitCategories(units, gameData, uiContext.getMapData());
     final int iconWidth = uiContext.getUnitImageFactory().getUnitImageWidth();
@@ -927,6 +944,9 @@ public class MapPanel extends ImageScrollerLargeView {
       }
     }
     mouseShadowImage = img;
+    mouseShadowUnits = shadowUnits;
+    mouseShadowUnitScale = unitScale;
+    mouseShadowMapScale = scale;
     SwingUtilities.invokeLater(this::repaint);
     g.dispose();
   }
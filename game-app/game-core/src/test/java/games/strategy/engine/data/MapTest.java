@@ -148,6 +148,20 @@ class MapTest {
     assertEquals(-1, map.getLandDistance(ca, cd));
   }
 
+  @Test
+  void testLandDistanceFromWater() {
+    assertEquals(1, map.getLandDistance(bc, bb));
+    assertEquals(2, map.getLandDistance(bc, ba));
+    assertEquals(-1, map.getLandDistance(bb, bc));
+  }
+
+  @Test
+  void testWaterDistanceToNewConnection() {
+    assertEquals(4, map.getWaterDistance(bd, dd));
+    map.addConnection(bd, dd);
+    assertEquals(1, map.getWaterDistance(bd, dd));
+  }
+
   @Test
   void testLong() {
     assertEquals(6, map.getLandDistance(ad, da));
@@ -213,4 +227,27 @@ class MapTest {
     assertTrue(neighbors.contains(bb));
     assertTrue(neighbors.contains(ca));
   }
+
+  @Test
+  void testNeighborsWithDistanceAndCondition() {
+    assertEquals(Set.of(cc, bc, dc), map.getNeighbors(cb, 2, Territory::isWater));
+  }
+
+  @Test
+  void testNeighborsOfFrontier() {
+    assertEquals(Set.of(ba, bb, ac), map.getNeighbors(Set.of(aa, ab), 1, it -> !it.isWater()));
+  }
+
+  @Test
+  void testNeighborsIgnoreEnd() {
+    assertEquals(
+        Set.of(ab, ba, bc, cb, ac, bd, cc), map.getNeighborsIgnoreEnd(bb, 2, Territory::isWater));
+  }
+
+  @Test
+  void testNewConnectionIsFound() {
+    assertEquals(6, map.getDistance(aa, dd));
+    map.addConnection(aa, dd);
+    assertEquals(1, map.getDistance(aa, dd));
+  }
 }
@@ -1,9 +1,13 @@
 package games.strategy.engine.data;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import games.strategy.engine.data.RelationshipTracker.RelatedPlayers;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.xml.TestMapGameData;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.junit.jupiter.api.Nested;
@@ -43,4 +47,48 @@ final class RelationshipTrackerTest {
       }
     }
   }
+
+  @Nested
+  final class RelationshipQueriesTest {
+    private final GameData gameData = TestMapGameData.REVISED.getGameData();
+    private final RelationshipTracker relationshipTracker = gameData.getRelationshipTracker();
+    private final GamePlayer russians = gameData.getPlayerList().getPlayerId("Russians");
+    private final GamePlayer germans = gameData.getPlayerList().getPlayerId("Germans");
+    private final GamePlayer british = gameData.getPlayerList().getPlayerId("British");
+    private final GamePlayer japanese = gameData.getPlayerList().getPlayerId("Japanese");
+    private final GamePlayer americans = gameData.getPlayerList().getPlayerId("Americans");
+
+    @Test
+    void shouldKnowAlliesAndEnemies() {
+      assertThat(relationshipTracker.isAllied(russians, british), is(true));
+      assertThat(relationshipTracker.isAtWar(russians, british), is(false));
+      assertThat(relationshipTracker.isAtWar(russians, germans), is(true));
+      assertThat(
+          relationshipTracker.getAllies(russians, true),
+          containsInAnyOrder(russians, british, americans));
+      assertThat(relationshipTracker.getEnemies(russians), containsInAnyOrder(germans, japanese));
+    }
+
+    @Test
+    void shouldKnowChangedRelationships() {
+      gameData.performChange(
+          ChangeFactory.relationshipChange(
+              russians,
+              japanese,
+              relationshipTracker.getRelationshipType(russians, japanese),
+              gameData.getRelationshipTypeList().getDefaultAlliedRelationship()));
+
+      assertThat(relationshipTracker.isAtWar(japanese, russians), is(false));
+      assertThat(relationshipTracker.isAllied(japanese, russians), is(true));
+      assertThat(relationshipTracker.getEnemies(russians), containsInAnyOrder(germans));
+    }
+
+    @Test
+    void shouldFailForMissingRelationships() {
+      gameData.getPlayerList().addPlayerId(new GamePlayer("Neutrals", gameData));
+
+      assertThrows(NullPointerException.class, () -> relationshipTracker.getAllies(russians, true));
+      assertThrows(NullPointerException.class, () -> relationshipTracker.getEnemies(russians));
+    }
+  }
 }
@@ -13,9 +13,13 @@ import com.google.common.base.Preconditions;
 import games.strategy.triplea.Constants;
 import games.strategy.triplea.attachments.TerritoryAttachment;
 import java.math.BigDecimal;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,6 +31,7 @@ class RouteFinderTest {
 
   private final GamePlayer player = mock(GamePlayer.class);
   private final GameMap map = mock(GameMap.class);
+  private final Map<Territory, Set<Territory>> neighbors = new HashMap<>();
   private List<Territory> territories;
 
   /**
@@ -85,9 +90,38 @@ class RouteFinderTest {
 
   private void configureNeighbors(final Territory territory, final Territory... neighbors) {
     Preconditions.checkNotNull(map);
+    this.neighbors.put(territory, Set.of(neighbors));
     when(map.getNeighbors(eq(territory), any())).thenReturn(Set.of(neighbors));
   }
 
+  /**
+   * The mocked map reports a distance of 0 between all territories, which turns the A* search into
+   * Dijkstra's algorithm. This makes it report the actual distances, which the A* search uses to
+   * estimate the remaining cost.
+   */
+  private void configureDistances() {
+    when(map.getDistance(any(Territory.class), any(Territory.class)))
+        .thenAnswer(
+            invocation -> getDistance(invocation.getArgument(0), invocation.getArgument(1)));
+  }
+
+  private int getDistance(final Territory start, final Territory end) {
+    final Map<Territory, Integer> distances = new HashMap<>(Map.of(start, 0));
+    final Queue<Territory> toVisit = new ArrayDeque<>(List.of(start));
+    while (!toVisit.isEmpty()) {
+      final Territory current = toVisit.remove();
+      if (current.equals(end)) {
+        return distances.get(current);
+      }
+      for (final Territory neighbor : neighbors.get(current)) {
+        if (distances.putIfAbsent(neighbor, distances.get(current) + 1) == null) {
+          toVisit.add(neighbor);
+        }
+      }
+    }
+    return -1;
+  }
+
   @Test
   void testFindRoute() {
     final RouteFinder routeFinder = new RouteFinder(map, t -> true, List.of(), player);
@@ -159,6 +193,61 @@ class RouteFinderTest {
     assertEquals(Stream.of(0, 3, 6, 8).map(territories::get).collect(Collectors.toList()), result);
   }
 
+  @Test
+  void testAStarAndDijkstraFindTheSameRouteByCost() {
+    final RouteFinder routeFinder =
+        createRouteFinder(Map.of(3, new BigDecimal("2.5"), 6, new BigDecimal("3.75")));
+    final List<Territory> expected =
+        Stream.of(0, 3, 4, 5, 7, 8).map(territories::get).collect(Collectors.toList());
+
+    assertEquals(expected, findRouteByCost(routeFinder, 0, 8));
+    configureDistances();
+    assertEquals(expected, findRouteByCost(routeFinder, 0, 8));
+  }
+
+  @Test
+  void testAStarAndDijkstraFindTheShortestOfEquallyCheapRoutes() {
+    final RouteFinder routeFinder = createRouteFinder(Map.of(6, new BigDecimal(3)));
+    final List<Territory> expected =
+        Stream.of(0, 3, 6, 8).map(territories::get).collect(Collectors.toList());
+
+    assertEquals(expected, findRouteByCost(routeFinder, 0, 8));
+    configureDistances();
+    assertEquals(expected, findRouteByCost(routeFinder, 0, 8));
+  }
+
+  @Test
+  void testFindRouteByCostComparesCostsExactly() {
+    // the route through 4, 5 and 7 is cheaper, but not if the costs are rounded up to thousandths
+    final BigDecimal smallCost = new BigDecimal("0.0001");
+    final RouteFinder routeFinder =
+        createRouteFinder(
+            Map.of(4, smallCost, 5, smallCost, 7, smallCost, 6, new BigDecimal("0.0004")));
+
+    assertEquals(
+        Stream.of(0, 3, 4, 5, 7, 8).map(territories::get).collect(Collectors.toList()),
+        findRouteByCost(routeFinder, 0, 8));
+  }
+
+  private List<Territory> findRouteByCost(
+      final RouteFinder routeFinder, final int start, final int end) {
+    return routeFinder
+        .findRouteByCost(territories.get(start), territories.get(end))
+        .orElseThrow()
+        .getAllTerritories();
+  }
+
+  private RouteFinder createRouteFinder(final Map<Integer, BigDecimal> movementCosts) {
+    final RouteFinder routeFinder = Mockito.spy(new RouteFinder(map, t -> true, List.of(), player));
+    doAnswer(
+            invocation ->
+                movementCosts.getOrDefault(
+                    territories.indexOf(invocation.<Territory>getArgument(0)), BigDecimal.ONE))
+        .when(routeFinder)
+        .getMaxMovementCost(any());
+    return routeFinder;
+  }
+
   private RouteFinder createRouteFinder(final List<Territory> territoriesWithIncreasedCost) {
     final RouteFinder routeFinder = Mockito.spy(new RouteFinder(map, t -> true, List.of(), player));
     doAnswer(
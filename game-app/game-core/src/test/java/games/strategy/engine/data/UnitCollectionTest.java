@@ -427,6 +427,37 @@ class UnitCollectionTest {
     assertThat(allPlayersUnitCollection.hasUnitsFromMultiplePlayers(), is(equalTo(true)));
   }
 
+  @Test
+  void unitCountsFollowRemovedUnits() {
+    addAllPlayerUnitsToUnitCollection(unitCollection);
+    assertThat(unitCollection.hasUnitsOwnedBy(otherGamePlayer), is(equalTo(true)));
+
+    unitCollection.remove(unitOtherPlayer1);
+    unitCollection.removeAll(getOtherPlayerUnitsOfUnitTypeTwo());
+    assertThat(
+        unitCollection.getUnitCount(unitTypeOne, otherGamePlayer),
+        is(equalTo(unitCountOtherPlayerUnitTypeOne - 1)));
+    assertThat(unitCollection.getUnitCount(unitTypeTwo, otherGamePlayer), is(equalTo(0)));
+
+    unitCollection.removeIf(Matches.unitIsOwnedBy(otherGamePlayer));
+    assertThat(unitCollection.hasUnitsOwnedBy(otherGamePlayer), is(equalTo(false)));
+    assertThat(unitCollection.hasUnitsFromMultiplePlayers(), is(equalTo(false)));
+    assertThat(
+        unitCollection.getUnitCount(unitTypeOne), is(equalTo(unitCountDefaultPlayerUnitTypeOne)));
+  }
+
+  @Test
+  void unitCountsFollowOwnerChangesAfterClearingTheCache() {
+    addAllDefaultPlayerUnitsToUnitCollection(unitCollection);
+    assertThat(unitCollection.anyOwnerMatches(otherGamePlayer::equals), is(equalTo(false)));
+
+    unitDefaultPlayer1.setOwner(otherGamePlayer);
+    unitCollection.clearCache();
+
+    assertThat(unitCollection.anyOwnerMatches(otherGamePlayer::equals), is(equalTo(true)));
+    assertThat(unitCollection.getUnitCount(unitTypeOne, defaultGamePlayer), is(equalTo(0)));
+  }
+
   @Test
   void getHolder() {
     assertThat(unitCollection.getHolder(), is(equalTo(defaultGamePlayer)));
@@ -0,0 +1,52 @@
+package games.strategy.engine.data;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.transport;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+
+import games.strategy.engine.framework.GameDataManager;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.triplea.xml.TestMapGameData;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class UnitTest {
+  private final GameData gameData = TestMapGameData.REVISED.getGameData();
+  private final GameData otherData =
+      GameDataUtils.cloneGameData(gameData, GameDataManager.Options.forBattleCalculator())
+          .orElseThrow();
+
+  @Test
+  void translateIntoReturnsKnownUnit() {
+    final Unit unit = gameData.getMap().getTerritoryOrNull("Germany").getUnits().iterator().next();
+
+    final Unit translated = unit.translateInto(otherData);
+
+    assertThat(translated, is(sameInstance(otherData.getUnits().get(unit.getId()))));
+  }
+
+  @Test
+  void translateIntoCopiesUnknownUnit() {
+    final GamePlayer germans = germans(gameData);
+    final Unit transport = transport(gameData).createTemp(1, germans).get(0);
+    final Unit infantry = infantry(gameData).createTemp(1, germans).get(0);
+    infantry.setTransportedBy(transport);
+    infantry.setHits(1);
+    transport.setUnloaded(List.of(infantry));
+
+    final Unit translated = infantry.translateInto(otherData);
+
+    assertThat(translated, is(not(sameInstance(infantry))));
+    assertThat(translated.getData(), is(sameInstance(otherData)));
+    assertThat(translated.getOwner(), is(sameInstance(germans(otherData))));
+    assertThat(translated.getHits(), is(1));
+    assertThat(translated.getTransportedBy().getId(), is(transport.getId()));
+    assertThat(translated.getTransportedBy().getUnloaded(), contains(translated));
+    assertThat(otherData.getUnits().get(infantry.getId()), is(sameInstance(translated)));
+  }
+}
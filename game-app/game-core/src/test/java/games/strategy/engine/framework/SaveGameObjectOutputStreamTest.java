@@ -0,0 +1,53 @@
+package games.strategy.engine.framework;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.triplea.io.IoUtils;
+
+final class SaveGameObjectOutputStreamTest {
+  private static final List<Object> VALUES =
+      List.of(
+          new StringBuilder("name").toString(),
+          new StringBuilder("name").toString(),
+          Integer.valueOf(1000),
+          Integer.valueOf(1000),
+          new BigDecimal("1.5"),
+          new BigDecimal("1.5"));
+
+  private static byte[] write(final boolean interning) throws Exception {
+    return IoUtils.writeToMemory(
+        os -> {
+          try (ObjectOutputStream out =
+              interning ? new SaveGameObjectOutputStream(os) : new ObjectOutputStream(os)) {
+            out.writeObject(new ArrayList<>(VALUES));
+          }
+        });
+  }
+
+  @Test
+  void writesEqualValuesOnce() throws Exception {
+    assertThat(write(true).length, is(lessThan(write(false).length)));
+  }
+
+  @Test
+  void writtenValuesAreReadByPlainObjectInputStream() throws Exception {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(write(true)))) {
+      final List<?> values = (List<?>) in.readObject();
+
+      assertThat(values, is(VALUES));
+      assertThat(values.get(1), is(sameInstance(values.get(0))));
+      assertThat(values.get(3), is(sameInstance(values.get(2))));
+      assertThat(values.get(5), is(sameInstance(values.get(4))));
+    }
+  }
+}
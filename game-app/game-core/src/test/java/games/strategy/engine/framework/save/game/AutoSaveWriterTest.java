@@ -0,0 +1,88 @@
+package games.strategy.engine.framework.save.game;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.framework.GameDataManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class AutoSaveWriterTest {
+  @TempDir Path tempDir;
+
+  private final GameData gameData = new GameData();
+
+  private List<Path> listFiles() throws IOException {
+    try (Stream<Path> files = Files.list(tempDir)) {
+      return files.toList();
+    }
+  }
+
+  @Test
+  void writesSnapshotAsLoadableSavedGame() throws Exception {
+    final Path file = tempDir.resolve("autosave.tsvg");
+
+    AutoSaveWriter.write(GameDataManager.saveGameSnapshot(gameData), file);
+
+    assertThat(
+        GameDataManager.loadGame(file).orElseThrow().getGameName(), is(gameData.getGameName()));
+    assertThat(listFiles(), contains(file));
+  }
+
+  @Test
+  void replacesExistingSavedGame() throws Exception {
+    final Path file = tempDir.resolve("autosave.tsvg");
+    Files.writeString(file, "outdated");
+
+    AutoSaveWriter.write(GameDataManager.saveGameSnapshot(gameData), file);
+
+    assertThat(GameDataManager.loadGame(file).isPresent(), is(true));
+    assertThat(listFiles(), contains(file));
+  }
+
+  @Test
+  void writesPendingSavesWhenShutDown() throws Exception {
+    final Path file = tempDir.resolve("autosave.tsvg");
+    final AutoSaveWriter autoSaveWriter = new AutoSaveWriter();
+
+    autoSaveWriter.save(GameDataManager.saveGameSnapshot(gameData), file);
+    autoSaveWriter.shutDown();
+
+    assertThat(GameDataManager.loadGame(file).isPresent(), is(true));
+  }
+
+  @Test
+  void newerSaveReplacesOnlyTheWaitingSaveOfTheSameFile() throws Exception {
+    final Path file = tempDir.resolve("autosave.tsvg");
+    final Path otherFile = tempDir.resolve("other.tsvg");
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    final CountDownLatch diskIsBusy = new CountDownLatch(1);
+    executor.execute(() -> Uninterruptibles.awaitUninterruptibly(diskIsBusy));
+    final AutoSaveWriter autoSaveWriter = new AutoSaveWriter(executor);
+
+    autoSaveWriter.save(snapshotOfGame("first"), file);
+    autoSaveWriter.save(snapshotOfGame("other"), otherFile);
+    autoSaveWriter.save(snapshotOfGame("second"), file);
+    diskIsBusy.countDown();
+    autoSaveWriter.shutDown();
+
+    assertThat(GameDataManager.loadGame(file).orElseThrow().getGameName(), is("second"));
+    assertThat(GameDataManager.loadGame(otherFile).orElseThrow().getGameName(), is("other"));
+  }
+
+  private SaveGameSnapshot snapshotOfGame(final String gameName) throws IOException {
+    gameData.setGameName(gameName);
+    return GameDataManager.saveGameSnapshot(gameData);
+  }
+}
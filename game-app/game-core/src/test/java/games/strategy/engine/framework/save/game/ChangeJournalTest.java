@@ -0,0 +1,138 @@
+package games.strategy.engine.framework.save.game;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.delegate.DelegateExecutionManager;
+import games.strategy.engine.framework.GameDataManager;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class ChangeJournalTest {
+  private static final String PROPERTY = "journaled";
+
+  @TempDir Path tempDir;
+
+  private final GameData gameData = new GameData();
+  private final DelegateExecutionManager delegateExecutionManager = new DelegateExecutionManager();
+
+  private void setProperty(final ChangeJournal journal, final int value) {
+    final Change change = ChangeFactory.setProperty(PROPERTY, value, gameData);
+    gameData.getHistory().getHistoryWriter().startEvent("Set " + value);
+    journal.recordEvent("Set " + value);
+    gameData.performChange(change);
+    gameData.getHistory().getHistoryWriter().addChange(change);
+    journal.recordChange(change);
+  }
+
+  private Object loadProperty(final Path file) {
+    return GameDataManager.loadGame(file).orElseThrow().getProperties().get(PROPERTY);
+  }
+
+  @Test
+  void replaysJournalOntoCheckpoint() {
+    final Path file = tempDir.resolve("autosave.tsvg");
+    final ChangeJournal journal = new ChangeJournal(file);
+
+    journal.save(gameData, delegateExecutionManager);
+    setProperty(journal, 1);
+    journal.save(gameData, delegateExecutionManager);
+    setProperty(journal, 2);
+    journal.save(gameData, delegateExecutionManager);
+    journal.shutDown();
+
+    assertThat(Files.exists(ChangeJournal.getJournalFile(file)), is(true));
+    assertThat(loadProperty(file), is(2));
+  }
+
+  @Test
+  void ignoresChangesRecordedAfterTheLastSave() {
+    final Path file = tempDir.resolve("autosave.tsvg");
+    final ChangeJournal journal = new ChangeJournal(file);
+
+    journal.save(gameData, delegateExecutionManager);
+    setProperty(journal, 1);
+    journal.save(gameData, delegateExecutionManager);
+    setProperty(journal, 2);
+    journal.shutDown();
+
+    assertThat(loadProperty(file), is(1));
+  }
+
+  @Test
+  void ignoresIncompleteRecord() throws Exception {
+    final Path file = tempDir.resolve("autosave.tsvg");
+    final ChangeJournal journal = new ChangeJournal(file);
+    journal.save(gameData, delegateExecutionManager);
+    setProperty(journal, 1);
+    journal.save(gameData, delegateExecutionManager);
+    journal.shutDown();
+
+    try (DataOutputStream out =
+        new DataOutputStream(
+            Files.newOutputStream(ChangeJournal.getJournalFile(file), StandardOpenOption.APPEND))) {
+      out.writeInt(1000);
+      out.write(new byte[10]);
+    }
+
+    assertThat(loadProperty(file), is(1));
+  }
+
+  @Test
+  void writesNewCheckpointPeriodically() {
+    final Path file = tempDir.resolve("autosave.tsvg");
+    final ChangeJournal journal = new ChangeJournal(file);
+
+    for (int i = 0; i <= ChangeJournal.SAVES_PER_CHECKPOINT + 1; i++) {
+      setProperty(journal, i);
+      journal.save(gameData, delegateExecutionManager);
+    }
+    journal.shutDown();
+
+    assertThat(
+        Files.size(ChangeJournal.getJournalFile(file)), is((long) ChangeJournal.HEADER_LENGTH));
+    assertThat(loadProperty(file), is(ChangeJournal.SAVES_PER_CHECKPOINT + 1));
+  }
+
+  @Test
+  void ignoresJournalOfPreviousCheckpoint() throws Exception {
+    final Path file = tempDir.resolve("autosave.tsvg");
+    final Path journalFile = ChangeJournal.getJournalFile(file);
+    final ChangeJournal journal = new ChangeJournal(file);
+    journal.save(gameData, delegateExecutionManager);
+    setProperty(journal, 1);
+    journal.save(gameData, delegateExecutionManager);
+    journal.shutDown();
+    final byte[] staleJournal = Files.readAllBytes(journalFile);
+
+    final ChangeJournal nextJournal = new ChangeJournal(file);
+    setProperty(nextJournal, 2);
+    nextJournal.save(gameData, delegateExecutionManager);
+    nextJournal.shutDown();
+    // as if the game crashed after the new checkpoint was written but before its journal
+    Files.write(journalFile, staleJournal);
+
+    assertThat(loadProperty(file), is(2));
+  }
+
+  @Test
+  void checkpointIsNotLoadedFromStream() throws Exception {
+    final Path file = tempDir.resolve("autosave.tsvg");
+    final ChangeJournal journal = new ChangeJournal(file);
+    journal.save(gameData, delegateExecutionManager);
+    journal.shutDown();
+
+    try (InputStream is = Files.newInputStream(file)) {
+      assertThat(GameDataManager.loadGame(is), is(Optional.empty()));
+    }
+  }
+}
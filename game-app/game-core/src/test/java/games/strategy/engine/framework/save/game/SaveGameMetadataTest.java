@@ -0,0 +1,86 @@
+package games.strategy.engine.framework.save.game;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.framework.GameDataManager;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class SaveGameMetadataTest {
+  @TempDir Path tempDir;
+
+  private final GameData gameData = new GameData();
+
+  private Path saveGame() throws Exception {
+    gameData.setGameName("Test Game");
+    final Path file = tempDir.resolve("game.tsvg");
+    try (OutputStream os = Files.newOutputStream(file)) {
+      GameDataManager.saveGame(os, gameData);
+    }
+    return file;
+  }
+
+  @Test
+  void metadataIsReadFromSavedGame() throws Exception {
+    final SaveGameMetadata metadata = SaveGameMetadata.read(saveGame()).orElseThrow();
+
+    assertThat(metadata.gameName(), is("Test Game"));
+    assertThat(metadata.mapName(), is(gameData.getMapName()));
+    assertThat(metadata.round(), is(gameData.getSequence().getRound()));
+    assertThat(metadata.players(), is(List.of()));
+  }
+
+  @Test
+  void savedGameWithMetadataIsReadByGzipInputStream() throws Exception {
+    final Path file = saveGame();
+
+    assertThat(GameDataManager.loadGame(file).orElseThrow().getGameName(), is("Test Game"));
+    try (InputStream is = new GZIPInputStream(Files.newInputStream(file))) {
+      assertThat(
+          GameDataManager.loadGameUncompressed(is).orElseThrow().getGameName(), is("Test Game"));
+    }
+  }
+
+  @Test
+  void metadataOfSnapshotIsWritten() throws Exception {
+    final SaveGameMetadata metadata =
+        new SaveGameMetadata(
+            "Game",
+            "Map",
+            3,
+            "germansCombatMove",
+            "Combat Move",
+            "Germans",
+            List.of("Germans", "Russians"),
+            "2.7",
+            Instant.ofEpochMilli(1234),
+            false);
+    final Path file = tempDir.resolve("game.tsvg");
+    try (OutputStream os = Files.newOutputStream(file)) {
+      GameDataManager.saveSnapshot(os, new SaveGameSnapshot(metadata, new byte[] {1, 2, 3}));
+    }
+
+    assertThat(SaveGameMetadata.read(file), is(Optional.of(metadata)));
+  }
+
+  @Test
+  void savedGameWithoutMetadataHasNoMetadata() throws Exception {
+    final Path file = tempDir.resolve("old.tsvg");
+    try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(file))) {
+      os.write(new byte[] {1, 2, 3});
+    }
+
+    assertThat(SaveGameMetadata.read(file), is(Optional.empty()));
+  }
+}
@@ -91,4 +91,32 @@ class TerritoryEffectHelperTest extends AbstractDelegateTestCase {
         result.compareTo(BigDecimal.ONE),
         is(0));
   }
+
+  @Test
+  void testGetMinMovementCostIsLowerBoundOfAllTerritories() {
+    final Collection<Unit> units = new ArrayList<>();
+    units.addAll(GameDataTestUtil.unitType("germanInfantry", twwGameData).create(1, germanPlayer));
+    units.addAll(
+        GameDataTestUtil.unitType("germanAlpineInfantry", twwGameData).create(1, germanPlayer));
+    final BigDecimal result =
+        TerritoryEffectHelper.getMinMovementCost(
+            twwGameData.getTerritoryEffectList().values(), units);
+    for (final Territory territory : twwGameData.getMap().getTerritories()) {
+      assertThat(
+          "Expect no territory to have a lower movement cost than " + result,
+          result.compareTo(TerritoryEffectHelper.getMaxMovementCost(territory, units)) <= 0,
+          is(true));
+    }
+  }
+
+  @Test
+  void testGetMinMovementCostForNoUnits() {
+    final BigDecimal result =
+        TerritoryEffectHelper.getMinMovementCost(
+            twwGameData.getTerritoryEffectList().values(), Set.of());
+    assertThat(
+        "Expect 1 movement cost when no units are passed in",
+        result.compareTo(BigDecimal.ONE),
+        is(0));
+  }
 }
@@ -0,0 +1,59 @@
+package games.strategy.triplea.delegate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.Mockito.mock;
+
+import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.delegate.UnitTechBonusTable.UnitBonus;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class UnitTechBonusTableTest {
+  private final GamePlayer player = mock(GamePlayer.class);
+  private final GamePlayer otherPlayer = mock(GamePlayer.class);
+  private final UnitType unitType = mock(UnitType.class);
+  private final UnitType otherUnitType = mock(UnitType.class);
+  private final UnitTechBonusTable table =
+      new UnitTechBonusTable(List.of(player, otherPlayer), List.of(unitType, otherUnitType));
+
+  @Test
+  void everyBonusHasItsOwnIndex() {
+    final Set<Integer> indexes = new HashSet<>();
+    for (final GamePlayer p : List.of(player, otherPlayer)) {
+      for (final UnitType type : List.of(unitType, otherUnitType)) {
+        for (final UnitBonus bonus : UnitBonus.values()) {
+          final int index = table.getIndex(p, type, bonus);
+          assertThat(index, is(not(-1)));
+          indexes.add(index);
+        }
+      }
+    }
+
+    assertThat(indexes.size(), is(2 * 2 * UnitBonus.values().length));
+  }
+
+  @Test
+  void bonusesAreUnknownUntilTheyAreSet() {
+    final int index = table.getIndex(otherPlayer, unitType, UnitBonus.MOVEMENT);
+    assertThat(table.get(index), is(UnitTechBonusTable.UNKNOWN));
+
+    table.set(index, 2);
+
+    assertThat(table.get(index), is(2));
+    assertThat(
+        table.get(table.getIndex(player, unitType, UnitBonus.MOVEMENT)),
+        is(UnitTechBonusTable.UNKNOWN));
+  }
+
+  @Test
+  void unknownPlayersAndUnitTypesHaveNoIndex() {
+    assertThat(table.getIndex(mock(GamePlayer.class), unitType, UnitBonus.ATTACK), is(-1));
+    assertThat(table.getIndex(player, mock(UnitType.class), UnitBonus.ATTACK), is(-1));
+    assertThat(table.getIndex(null, unitType, UnitBonus.ATTACK), is(-1));
+  }
+}
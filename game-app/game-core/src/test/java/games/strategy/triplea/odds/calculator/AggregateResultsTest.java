@@ -3,15 +3,19 @@ package games.strategy.triplea.odds.calculator;
 import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
 import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
 import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GamePlayer;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
+import games.strategy.triplea.delegate.battle.BattleResults;
+import games.strategy.triplea.delegate.battle.IBattle.WhoWon;
 import games.strategy.triplea.util.TuvCostsCalculator;
 import games.strategy.triplea.xml.TestMapGameData;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.triplea.java.collections.IntegerMap;
 import org.triplea.util.Tuple;
@@ -19,7 +23,7 @@ import org.triplea.util.Tuple;
 public class AggregateResultsTest {
   @Test
   void testNoResultsAdded() {
-    final AggregateResults results = new AggregateResults(1);
+    final AggregateResults results = new AggregateResults();
 
     // The methods for the TUV need some additional objects.  Note that even in an zero-result TUV
     // swing simulation, some pre-computation is done with this objects, i.e. they must be non-null.
@@ -48,6 +52,41 @@ public class AggregateResultsTest {
     assertIsNaN(results.getAverageBattleRoundsFought());
   }
 
+  @Test
+  void testResultsAreAggregated() {
+    final GameData gameData = TestMapGameData.REVISED.getGameData();
+    final GamePlayer attacker = russians(gameData);
+    final GamePlayer defender = germans(gameData);
+    final List<Unit> attackingUnits = infantry(gameData).create(3, attacker);
+    final List<Unit> defendingUnits = infantry(gameData).create(2, defender);
+    final AggregateResults results = new AggregateResults();
+    results.addResult(
+        new BattleResults(1, attackingUnits, List.of(), WhoWon.ATTACKER, gameData));
+    results.addResult(
+        new BattleResults(2, attackingUnits.subList(0, 1), List.of(), WhoWon.ATTACKER, gameData));
+    final AggregateResults otherResults = new AggregateResults();
+    otherResults.addResult(
+        new BattleResults(3, List.of(), defendingUnits, WhoWon.DEFENDER, gameData));
+    otherResults.addResult(new BattleResults(3, List.of(), List.of(), WhoWon.DEFENDER, gameData));
+    results.addResults(otherResults);
+
+    assertEquals(4, results.getRollCount());
+    assertEquals(0.5, results.getAttackerWinPercent());
+    assertEquals(0.25, results.getDefenderWinPercent());
+    assertEquals(0.25, results.getDrawPercent());
+    assertEquals(2.25, results.getAverageBattleRoundsFought());
+    assertEquals(1.0, results.getAverageAttackingUnitsLeft());
+    assertEquals(2.0, results.getAverageAttackingUnitsLeftWhenAttackerWon());
+    assertEquals(0.5, results.getAverageDefendingUnitsLeft());
+    assertEquals(2.0, results.getAverageDefendingUnitsLeftWhenDefenderWon());
+    final IntegerMap<UnitType> costs = new IntegerMap<>(Map.of(infantry(gameData), 3));
+    assertEquals(Tuple.of(3.0, 1.5), results.getAverageTuvOfUnitsLeftOver(costs, costs));
+    // (1 attacker, 0 defenders) is the outcome closest to the average (1, 0.5) that occurred first
+    assertEquals(
+        attackingUnits.subList(0, 1), List.copyOf(results.getAverageAttackingUnitsRemaining()));
+    assertEquals(List.of(), List.copyOf(results.getAverageDefendingUnitsRemaining()));
+  }
+
   private static void assertIsNaN(final double d) {
     assertTrue(Double.isNaN(d));
   }
@@ -11,18 +11,24 @@ import static games.strategy.triplea.delegate.GameDataTestUtil.submarine;
 import static games.strategy.triplea.delegate.GameDataTestUtil.territory;
 import static games.strategy.triplea.delegate.GameDataTestUtil.transport;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GamePlayer;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.engine.framework.GameDataManager;
+import games.strategy.engine.framework.GameDataUtils;
 import games.strategy.triplea.delegate.TerritoryEffectHelper;
 import games.strategy.triplea.settings.AbstractClientSettingTestCase;
 import games.strategy.triplea.xml.TestMapGameData;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
 
 class BattleCalculatorTest extends AbstractClientSettingTestCase {
@@ -128,4 +134,113 @@ class BattleCalculatorTest extends AbstractClientSettingTestCase {
     assertEquals(1.0, results.getAttackerWinPercent());
     assertEquals(0.0, results.getDefenderWinPercent());
   }
+
+  @Test
+  void unitsOfCalculationsAreRestoredBeforeChangesAreReplayed() {
+    final GameData gameData = TestMapGameData.REVISED.getGameData();
+    final Territory germany = gameData.getMap().getTerritoryOrNull("Germany");
+    final GamePlayer russians = russians(gameData);
+    final GamePlayer germans = germans(gameData);
+    final BattleCalculator calculator = new BattleCalculator(gameData);
+    calculator.calculate(
+        russians,
+        germans,
+        germany,
+        infantry(gameData).create(10, russians),
+        new ArrayList<>(germany.getUnits()),
+        List.of(),
+        TerritoryEffectHelper.getEffects(germany),
+        false,
+        1);
+
+    final Change change = ChangeFactory.addUnits(germany, infantry(gameData).create(1, germans));
+    gameData.performChange(change);
+    calculator.applyChanges(
+        GameDataUtils.gameObjectToBytes(List.of(change)),
+        gameData.getSequence().getRound(),
+        gameData.getSequence().getStepIndex());
+
+    final Territory workerGermany =
+        calculator.getGameData().getMap().getTerritoryOrNull("Germany");
+    assertEquals(
+        germany.getUnits().stream().map(Unit::getId).collect(Collectors.toSet()),
+        workerGermany.getUnits().stream().map(Unit::getId).collect(Collectors.toSet()));
+  }
+
+  @Test
+  void unitlessCopyGetsTheUnitsNextToTheBattle() {
+    final GameData gameData = TestMapGameData.REVISED.getGameData();
+    final Territory germany = gameData.getMap().getTerritoryOrNull("Germany");
+    final Territory westernEurope = gameData.getMap().getTerritoryOrNull("Western Europe");
+    final GamePlayer russians = russians(gameData);
+    final BattleCalculator calculator = createUnitlessCalculator(gameData);
+
+    calculator.calculate(
+        russians,
+        germans(gameData),
+        germany,
+        infantry(gameData).create(10, russians),
+        new ArrayList<>(germany.getUnits()),
+        List.of(),
+        TerritoryEffectHelper.getEffects(germany),
+        false,
+        1);
+
+    final Territory workerWesternEurope =
+        calculator.getGameData().getMap().getTerritoryOrNull("Western Europe");
+    assertEquals(
+        westernEurope.getUnits().stream().map(Unit::getId).collect(Collectors.toSet()),
+        workerWesternEurope.getUnits().stream().map(Unit::getId).collect(Collectors.toSet()));
+    assertFalse(workerWesternEurope.getUnits().isEmpty());
+  }
+
+  @Test
+  void unitlessCopyGetsTheUnitsNextToTheBattleOncePerCalculation() {
+    final GameData gameData = TestMapGameData.REVISED.getGameData();
+    final Territory germany = gameData.getMap().getTerritoryOrNull("Germany");
+    final Territory westernEurope = gameData.getMap().getTerritoryOrNull("Western Europe");
+    final GamePlayer russians = russians(gameData);
+    final GamePlayer germans = germans(gameData);
+    final BattleCalculator calculator = createUnitlessCalculator(gameData);
+    final List<Unit> attacking = infantry(gameData).create(10, russians);
+    final List<Unit> defending = new ArrayList<>(germany.getUnits());
+    final Runnable calculateBatch =
+        () ->
+            calculator.calculate(
+                russians,
+                germans,
+                germany,
+                attacking,
+                defending,
+                List.of(),
+                TerritoryEffectHelper.getEffects(germany),
+                false,
+                1);
+    final Territory workerWesternEurope =
+        calculator.getGameData().getMap().getTerritoryOrNull("Western Europe");
+
+    calculateBatch.run();
+    gameData.performChange(
+        ChangeFactory.addUnits(westernEurope, infantry(gameData).create(1, germans)));
+    // a further batch of the same calculation keeps the units it already copied
+    calculateBatch.run();
+    assertEquals(westernEurope.getUnits().size() - 1, workerWesternEurope.getUnits().size());
+
+    calculator.forgetNeighborUnits();
+    calculateBatch.run();
+    assertEquals(
+        westernEurope.getUnits().stream().map(Unit::getId).collect(Collectors.toSet()),
+        workerWesternEurope.getUnits().stream().map(Unit::getId).collect(Collectors.toSet()));
+  }
+
+  private static BattleCalculator createUnitlessCalculator(final GameData gameData) {
+    final GameData copy =
+        GameDataUtils.cloneGameData(gameData, GameDataManager.Options.forBattleCalculator())
+            .orElseThrow();
+    BattleCalculator.removeAllUnits(copy);
+    return new BattleCalculator(
+        GameDataUtils.gameDataToBytes(copy, GameDataManager.Options.forBattleCalculator())
+            .orElseThrow(),
+        true);
+  }
 }
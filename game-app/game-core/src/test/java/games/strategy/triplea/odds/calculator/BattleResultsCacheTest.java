@@ -0,0 +1,149 @@
+package games.strategy.triplea.odds.calculator;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static games.strategy.triplea.delegate.GameDataTestUtil.transport;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.core.Is.is;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.battle.BattleResults;
+import games.strategy.triplea.delegate.battle.IBattle.WhoWon;
+import games.strategy.triplea.xml.TestMapGameData;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class BattleResultsCacheTest {
+  private final GameData gameData = TestMapGameData.REVISED.getGameData();
+  private final GamePlayer russians = russians(gameData);
+  private final GamePlayer germans = germans(gameData);
+  private final Territory germany = gameData.getMap().getTerritoryOrNull("Germany");
+  private final BattleResultsCache cache = new BattleResultsCache(10);
+  private final AtomicInteger calculations = new AtomicInteger();
+
+  private AggregateResults calculate(final List<Unit> attacking, final List<Unit> defending) {
+    return calculate(attacking, defending, true);
+  }
+
+  private AggregateResults calculate(
+      final List<Unit> attacking, final List<Unit> defending, final boolean complete) {
+    return cache.getOrCalculate(
+        BattleResultsCache.Signature.of(
+            russians,
+            germans,
+            germany,
+            attacking,
+            defending,
+            List.of(),
+            List.of(),
+            false,
+            100,
+            List.of()),
+        attacking,
+        defending,
+        () -> {
+          calculations.incrementAndGet();
+          final AggregateResults results = new AggregateResults();
+          results.addResult(
+              new BattleResults(1, attacking.subList(0, 1), List.of(), WhoWon.ATTACKER, gameData));
+          return new BattleResultsCache.Calculation(results, complete);
+        });
+  }
+
+  @Test
+  void equalBattlesAreCalculatedOnce() {
+    final List<Unit> attacking = infantry(gameData).create(2, russians);
+    final List<Unit> otherAttacking = infantry(gameData).create(2, russians);
+    final List<Unit> defending = infantry(gameData).create(1, germans);
+
+    assertThat(
+        calculate(attacking, defending).getAverageAttackingUnitsRemaining(),
+        contains(attacking.get(0)));
+    // the cached results refer to the units of the battle that was asked for
+    assertThat(
+        calculate(otherAttacking, defending).getAverageAttackingUnitsRemaining(),
+        contains(otherAttacking.get(0)));
+    assertThat(calculations.get(), is(1));
+    assertThat(cache.stats().hitCount(), is(1L));
+    assertThat(cache.stats().missCount(), is(1L));
+  }
+
+  @Test
+  void cancelledCalculationsAreNotCached() {
+    final List<Unit> attacking = infantry(gameData).create(2, russians);
+    final List<Unit> defending = infantry(gameData).create(1, germans);
+
+    calculate(attacking, defending, false);
+    calculate(attacking, defending);
+    calculate(attacking, defending);
+
+    assertThat(calculations.get(), is(2));
+  }
+
+  @Test
+  void damagedUnitsMakeADifferentBattle() {
+    final List<Unit> attacking = infantry(gameData).create(2, russians);
+    final List<Unit> defending = infantry(gameData).create(1, germans);
+    final List<Unit> damagedDefending = infantry(gameData).create(1, germans, false, 1, 0);
+
+    calculate(attacking, defending);
+    calculate(attacking, damagedDefending);
+
+    assertThat(calculations.get(), is(2));
+  }
+
+  @Test
+  void amphibiousUnitsMakeADifferentBattle() {
+    final List<Unit> attacking = infantry(gameData).create(2, russians);
+    final List<Unit> amphibiousAttacking = infantry(gameData).create(2, russians);
+    amphibiousAttacking.forEach(unit -> unit.setWasAmphibious(true));
+    final List<Unit> defending = infantry(gameData).create(1, germans);
+
+    calculate(attacking, defending);
+    calculate(amphibiousAttacking, defending);
+
+    assertThat(calculations.get(), is(2));
+  }
+
+  @Test
+  void battlesOfTransportedUnitsAreNotCacheable() {
+    final List<Unit> units = infantry(gameData).create(2, russians);
+
+    assertThat(BattleResultsCache.isCacheable(units), is(true));
+
+    units.get(0).setTransportedBy(transport(gameData).create(russians));
+
+    assertThat(BattleResultsCache.isCacheable(units), is(false));
+  }
+
+  @Test
+  void remainingUnitsOfCachedResultsCanBeModified() {
+    final List<Unit> attacking = infantry(gameData).create(2, russians);
+    final List<Unit> defending = infantry(gameData).create(1, germans);
+
+    calculate(attacking, defending).getAverageAttackingUnitsRemaining().clear();
+
+    assertThat(
+        calculate(attacking, defending).getAverageAttackingUnitsRemaining(),
+        is(not(List.of())));
+  }
+
+  @Test
+  void invalidatedResultsAreCalculatedAgain() {
+    final List<Unit> attacking = infantry(gameData).create(2, russians);
+    final List<Unit> defending = infantry(gameData).create(1, germans);
+
+    calculate(attacking, defending);
+    cache.invalidateAll();
+    calculate(attacking, defending);
+
+    assertThat(calculations.get(), is(2));
+  }
+}
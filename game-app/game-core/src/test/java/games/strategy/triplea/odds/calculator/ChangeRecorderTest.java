@@ -0,0 +1,81 @@
+package games.strategy.triplea.odds.calculator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+class ChangeRecorderTest {
+  private final GameData gameData = mock(GameData.class);
+  private final Change change1 = mock(Change.class);
+  private final Change change2 = mock(Change.class);
+
+  @Test
+  void recordedChangesAreDrainedInOrder() {
+    final ChangeRecorder changeRecorder = new ChangeRecorder(gameData, 10);
+
+    changeRecorder.gameDataChanged(change1);
+    changeRecorder.gameDataChanged(change2);
+
+    assertThat(changeRecorder.drainChanges().orElseThrow(), contains(change1, change2));
+    assertThat(changeRecorder.drainChanges().orElseThrow(), is(empty()));
+  }
+
+  @Test
+  void tooManyChangesCanNotBeReplayed() {
+    final ChangeRecorder changeRecorder = new ChangeRecorder(gameData, 1);
+
+    changeRecorder.gameDataChanged(change1);
+    changeRecorder.gameDataChanged(change2);
+
+    assertThat(changeRecorder.drainChanges(), is(Optional.empty()));
+  }
+
+  @Test
+  void changesPerformedBeforeStartAreNotRecorded() throws Exception {
+    final GameData realGameData = new GameData();
+    final Change change3 = ChangeFactory.setProperty("property", 3, realGameData);
+    final Change change4 = ChangeFactory.setProperty("property", 4, realGameData);
+    final CountDownLatch notifying = new CountDownLatch(1);
+    final CountDownLatch started = new CountDownLatch(1);
+    realGameData.addDataChangeListener(
+        change -> {
+          if (change == change3) {
+            notifying.countDown();
+            Uninterruptibles.awaitUninterruptibly(started);
+          }
+        });
+    // the listeners are notified of the change after it was performed and the lock was released
+    final Thread performer = new Thread(() -> realGameData.performChange(change3));
+    performer.start();
+    notifying.await();
+
+    final ChangeRecorder changeRecorder = new ChangeRecorder(realGameData, 10);
+    try (GameData.Unlocker ignored = realGameData.acquireWriteLock()) {
+      // the copy of the data is taken here and includes change3
+      changeRecorder.start();
+    }
+    started.countDown();
+    performer.join();
+    realGameData.performChange(change4);
+
+    assertThat(changeRecorder.drainChanges().orElseThrow(), contains(change4));
+  }
+
+  @Test
+  void onlyRecordsTheGivenGameData() {
+    final ChangeRecorder changeRecorder = new ChangeRecorder(gameData, 1);
+
+    assertThat(changeRecorder.isRecording(gameData), is(true));
+    assertThat(changeRecorder.isRecording(mock(GameData.class)), is(false));
+  }
+}
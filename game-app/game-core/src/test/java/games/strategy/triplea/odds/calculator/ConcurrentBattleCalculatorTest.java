@@ -0,0 +1,47 @@
+package games.strategy.triplea.odds.calculator;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.changefactory.ChangeFactory;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.settings.AbstractClientSettingTestCase;
+import games.strategy.triplea.xml.TestMapGameData;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentBattleCalculatorTest extends AbstractClientSettingTestCase {
+  @Test
+  void calculationAfterChangesWereReplayedRunsInFull() {
+    final GameData gameData = TestMapGameData.REVISED.getGameData();
+    final Territory germany = gameData.getMap().getTerritoryOrNull("Germany");
+    final GamePlayer russians = russians(gameData);
+    final GamePlayer germans = germans(gameData);
+    final ConcurrentBattleCalculator calculator = new ConcurrentBattleCalculator();
+    assertTrue(calculator.setGameData(gameData).join());
+    gameData.performChange(ChangeFactory.addUnits(germany, infantry(gameData).create(1, germans)));
+    // the workers are kept and only brought up to date with the change
+    assertTrue(calculator.setGameData(gameData).join());
+
+    final AggregateResults results =
+        calculator.calculate(
+            russians,
+            germans,
+            germany,
+            infantry(gameData).create(10, russians),
+            new ArrayList<>(germany.getUnits()),
+            List.of(),
+            TerritoryEffectHelper.getEffects(germany),
+            false,
+            100);
+
+    assertEquals(100, results.getRollCount());
+  }
+}
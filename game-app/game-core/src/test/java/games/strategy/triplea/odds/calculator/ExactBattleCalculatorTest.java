@@ -0,0 +1,81 @@
+package games.strategy.triplea.odds.calculator;
+
+import static games.strategy.triplea.delegate.GameDataTestUtil.aaGun;
+import static games.strategy.triplea.delegate.GameDataTestUtil.germans;
+import static games.strategy.triplea.delegate.GameDataTestUtil.infantry;
+import static games.strategy.triplea.delegate.GameDataTestUtil.russians;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GamePlayer;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.TerritoryEffectHelper;
+import games.strategy.triplea.xml.TestMapGameData;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ExactBattleCalculatorTest {
+  private final GameData gameData = TestMapGameData.REVISED.getGameData();
+  private final GamePlayer russians = russians(gameData);
+  private final GamePlayer germans = germans(gameData);
+  private final Territory germany = gameData.getMap().getTerritoryOrNull("Germany");
+  private final IBattleCalculator fallback = mock(IBattleCalculator.class);
+  private final ExactBattleCalculator calculator = new ExactBattleCalculator(fallback);
+
+  @Test
+  void oneInfantryAgainstOneInfantryIsSolvedExactly() {
+    // Per round the attacker hits with 1/6 and the defender with 2/6. Conditioned on at least one
+    // hit per round, the attacker wins 4/16, the defender 10/16 and both die 2/16 of the time.
+    final AggregateResults results =
+        calculator.calculate(
+            russians,
+            germans,
+            germany,
+            infantry(gameData).create(1, russians),
+            infantry(gameData).create(1, germans),
+            List.of(),
+            TerritoryEffectHelper.getEffects(germany),
+            false,
+            1600);
+
+    assertEquals(1600, results.getRollCount());
+    assertEquals(0.25, results.getAttackerWinPercent(), 1e-9);
+    assertEquals(0.625, results.getDefenderWinPercent(), 1e-9);
+    assertEquals(0.125, results.getDrawPercent(), 1e-9);
+    verify(fallback, never())
+        .calculate(any(), any(), any(), any(), any(), any(), any(), anyBoolean(), anyInt());
+  }
+
+  @Test
+  void unsupportedBattleIsDelegatedToFallback() {
+    final List<Unit> attacking = infantry(gameData).create(1, russians);
+    final List<Unit> defending = aaGun(gameData).create(1, germans);
+    defending.addAll(infantry(gameData).create(1, germans));
+    final AggregateResults fallbackResults = new AggregateResults();
+    when(fallback.calculate(
+            russians,
+            germans,
+            germany,
+            attacking,
+            defending,
+            List.of(),
+            List.of(),
+            false,
+            10))
+        .thenReturn(fallbackResults);
+
+    assertSame(
+        fallbackResults,
+        calculator.calculate(
+            russians, germans, germany, attacking, defending, List.of(), List.of(), false, 10));
+  }
+}
@@ -0,0 +1,66 @@
+package games.strategy.triplea.odds.calculator;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RunBatchSchedulerTest {
+
+  @Test
+  void verifyBatchesUntilAllRunsAreClaimed() {
+    final var scheduler = new RunBatchScheduler(13, 5);
+
+    assertThat(scheduler.claimBatch(), is(equalTo(5)));
+    assertThat(scheduler.claimBatch(), is(equalTo(5)));
+    assertThat(scheduler.claimBatch(), is(equalTo(3)));
+    assertThat(scheduler.claimBatch(), is(equalTo(0)));
+    assertThat(scheduler.claimBatch(), is(equalTo(0)));
+  }
+
+  @Test
+  void verifyNothingIsClaimedAfterCancel() {
+    final var scheduler = new RunBatchScheduler(13, 5);
+
+    assertThat(scheduler.claimBatch(), is(equalTo(5)));
+    scheduler.cancel();
+
+    assertThat(scheduler.claimBatch(), is(equalTo(0)));
+  }
+
+  @Test
+  void verifyExceptionWhenUsingInvalidBatchSize() {
+    assertThrows(IllegalArgumentException.class, () -> new RunBatchScheduler(1, 0));
+    assertThrows(IllegalArgumentException.class, () -> new RunBatchScheduler(1, -20));
+  }
+
+  /**
+   * Obviously this test isn't guaranteed to fail if {@link RunBatchScheduler} is not actually
+   * thread-safe, but in case is does fail we have a bad implementation.
+   */
+  @Test
+  void verifyParallelClaimingSumsUpToRunCount() {
+    final int runCount = 1337;
+    final var scheduler = new RunBatchScheduler(runCount, 3);
+
+    final int summedRunCount =
+        IntStream.range(0, 64)
+            .parallel()
+            .map(
+                i -> {
+                  int claimed = 0;
+                  for (int batch = scheduler.claimBatch();
+                      batch > 0;
+                      batch = scheduler.claimBatch()) {
+                    claimed += batch;
+                  }
+                  return claimed;
+                })
+            .sum();
+
+    assertThat(summedRunCount, is(runCount));
+  }
+}
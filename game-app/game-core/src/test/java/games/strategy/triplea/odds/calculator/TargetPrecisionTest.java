@@ -0,0 +1,71 @@
+package games.strategy.triplea.odds.calculator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import games.strategy.triplea.odds.calculator.TargetPrecision.BatchMean;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class TargetPrecisionTest {
+  @Test
+  void winPercentIntervalDoesNotCollapseForOneSidedResults() {
+    assertThat(TargetPrecision.getWinPercentHalfWidth(16, 1.0), is(greaterThan(0.05)));
+    assertThat(TargetPrecision.getWinPercentHalfWidth(100, 1.0), is(lessThan(0.05)));
+  }
+
+  @Test
+  void winPercentIntervalIsWidestForEvenBattles() {
+    assertThat(TargetPrecision.getWinPercentHalfWidth(100, 0.5), is(closeTo(0.096, 0.001)));
+    assertThat(
+        TargetPrecision.getWinPercentHalfWidth(100, 0.9),
+        is(lessThan(TargetPrecision.getWinPercentHalfWidth(100, 0.5))));
+  }
+
+  private static List<BatchMean> batchMeans(final int runCount, final double... means) {
+    return Arrays.stream(means).mapToObj(mean -> new BatchMean(mean, runCount)).toList();
+  }
+
+  @Test
+  void tuvSwingIntervalNeedsTwoBatches() {
+    assertThat(
+        TargetPrecision.getTuvSwingHalfWidth(batchMeans(10, 5.0)), is(Double.POSITIVE_INFINITY));
+    assertThat(TargetPrecision.getTuvSwingHalfWidth(batchMeans(10, 5.0, 5.0)), is(0.0));
+  }
+
+  @Test
+  void tuvSwingIntervalShrinksWithMoreBatches() {
+    // the batch means have a sample variance of 3.2 and 8, respectively
+    assertThat(
+        TargetPrecision.getTuvSwingHalfWidth(batchMeans(10, -1.0, 1.0, 3.0, -1.0, 1.0, 3.0)),
+        is(closeTo(1.96 * Math.sqrt(3.2 / 6), 1e-9)));
+    assertThat(
+        TargetPrecision.getTuvSwingHalfWidth(batchMeans(10, -1.0, 3.0)),
+        is(closeTo(1.96 * Math.sqrt(8.0 / 2), 1e-9)));
+  }
+
+  @Test
+  void smallerRemainderBatchHasLessWeight() {
+    final List<BatchMean> batchMeans =
+        List.of(new BatchMean(0.0, 10), new BatchMean(2.0, 10), new BatchMean(10.0, 1));
+    // the mean of all 21 runs is 30 / 21
+    final double mean = 30.0 / 21;
+    final double runVariance =
+        (10 * mean * mean + 10 * (2 - mean) * (2 - mean) + (10 - mean) * (10 - mean)) / 2;
+
+    assertThat(
+        TargetPrecision.getTuvSwingHalfWidth(batchMeans),
+        is(closeTo(1.96 * Math.sqrt(runVariance / 21), 1e-9)));
+  }
+
+  @Test
+  void precisionHasToBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> new TargetPrecision(0, 1));
+    assertThrows(IllegalArgumentException.class, () -> new TargetPrecision(0.1, -1));
+  }
+}
@@ -0,0 +1,30 @@
+package games.strategy.triplea.odds.calculator;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class UnitHitsCheckpointTest {
+  private final GameData gameData = new GameData();
+  private final UnitType unitType = new UnitType("unitType", gameData);
+
+  @Test
+  void restoreResetsHits() {
+    final Unit undamaged = new Unit(unitType, null, gameData);
+    final Unit damaged = new Unit(unitType, null, gameData);
+    damaged.setHits(1);
+    final UnitHitsCheckpoint checkpoint = new UnitHitsCheckpoint(List.of(undamaged, damaged));
+    undamaged.setHits(2);
+    damaged.setHits(3);
+
+    checkpoint.restore();
+
+    assertThat(undamaged.getHits(), is(0));
+    assertThat(damaged.getHits(), is(1));
+  }
+}
@@ -10,6 +10,7 @@ import games.strategy.engine.data.Route;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
+import games.strategy.engine.data.events.GameDataChangeListener;
 import games.strategy.triplea.Properties;
 import games.strategy.triplea.delegate.AbstractMoveDelegate.MoveType;
 import games.strategy.triplea.delegate.EditDelegate;
@@ -108,6 +109,9 @@ public class MovePanel extends AbstractMovePanel {
   private final @Nullable Image warningImage;
   private final @Nullable Image errorImage;
   private @Nullable Route routeCached = null;
+  // routes and movable units of the current selection, reused while the mouse hovers over the map
+  private final MoveRouteCache routeCache = new MoveRouteCache();
+  private final GameDataChangeListener dataChangeListener = change -> routeCache.clear();
   private String displayText = "Combat Move";
   @Setter private MoveType moveType = MoveType.DEFAULT;
   private final UnitScroller unitScroller;
@@ -1360,11 +1364,19 @@ public class MovePanel extends AbstractMovePanel {
     if (start == null || end == null) {
       return Optional.empty();
     }
-    try (GameData.Unlocker ignored = getData().acquireReadLock()) {
-      return (forced == null)
-          ? getRouteNonForced(start, end, selectedUnits)
-          : getRouteForced(start, end, selectedUnits);
-    }
+    return routeCache.getRoute(
+        start,
+        end,
+        selectedUnits,
+        forced,
+        firstSelectedTerritory,
+        () -> {
+          try (GameData.Unlocker ignored = getData().acquireReadLock()) {
+            return (forced == null)
+                ? getRouteNonForced(start, end, selectedUnits)
+                : getRouteForced(start, end, selectedUnits);
+          }
+        });
   }
 
   /** Get the route including the territories that we are forced to move through. */
@@ -1432,17 +1444,24 @@ public class MovePanel extends AbstractMovePanel {
     }
     getMap().hideMouseCursor();
 
-    final MovableUnitsFilter unitsFilter =
-        new MovableUnitsFilter(
-            getData(),
-            getUnitOwner(units),
+    final var result =
+        routeCache.getFilterResult(
             route,
-            nonCombat,
-            moveType,
-            getUndoableMoves(),
-            airTransportDependents);
-    Collection<Unit> candidateUnits = TransportUtils.chooseEquivalentUnitsToUnload(route, units);
-    final var result = unitsFilter.filterUnitsThatCanMove(candidateUnits);
+            units,
+            airTransportDependents,
+            () -> {
+              final MovableUnitsFilter unitsFilter =
+                  new MovableUnitsFilter(
+                      getData(),
+                      getUnitOwner(units),
+                      route,
+                      nonCombat,
+                      moveType,
+                      getUndoableMoves(),
+                      airTransportDependents);
+              return unitsFilter.filterUnitsThatCanMove(
+                  TransportUtils.chooseEquivalentUnitsToUnload(route, units));
+            });
     switch (result.getStatus()) {
       case NO_UNITS_CAN_MOVE:
         setStatusErrorMessage(result.getWarningOrErrorMessage().orElseThrow());
@@ -1511,6 +1530,8 @@ public class MovePanel extends AbstractMovePanel {
     getMap().removeMapSelectionListener(mapSelectionListener);
     getMap().removeUnitSelectionListener(unitSelectionListener);
     getMap().removeMouseOverUnitListener(mouseOverUnitListener);
+    getData().removeDataChangeListener(dataChangeListener);
+    routeCache.clear();
     getMap().setUnitHighlight(Set.of());
     selectedUnits.clear();
     updateRouteAndMouseShadowUnits(null);
@@ -1555,6 +1576,7 @@ public class MovePanel extends AbstractMovePanel {
     getMap().addMapSelectionListener(mapSelectionListener);
     getMap().addUnitSelectionListener(unitSelectionListener);
     getMap().addMouseOverUnitListener(mouseOverUnitListener);
+    getData().addDataChangeListener(dataChangeListener);
   }
 
   private void registerKeyBindings(final JFrame frame) {
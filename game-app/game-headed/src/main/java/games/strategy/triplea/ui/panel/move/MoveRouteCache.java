@@ -0,0 +1,114 @@
+package games.strategy.triplea.ui.panel.move;
+
+import games.strategy.engine.data.Route;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.ui.panel.move.MovableUnitsFilter.FilterOperationResult;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+/**
+ * Remembers the routes of the selected units to the territories the mouse moved over and which of
+ * the units can move along them. While units are selected, the mouse keeps hovering over the same
+ * few territories, and every route search and move validation is expensive on large maps.
+ *
+ * <p>The keys contain everything the results depend on besides the game data: start and end, the
+ * units in the order they were selected, forced territories and air transport dependents. Changing
+ * the selection therefore never returns a stale result, but the cache has to be cleared whenever
+ * the game data changes. Results are computed outside the lock of the cache, as computing them
+ * needs the read lock of the game data, and are dropped if the cache was cleared in the meantime.
+ */
+final class MoveRouteCache {
+  private static final int MAX_ENTRIES = 256;
+
+  private final Map<RouteKey, Optional<Route>> routes = newLruMap();
+  private final Map<FilterKey, FilterOperationResult> filterResults = newLruMap();
+  private long generation;
+
+  private record RouteKey(
+      Territory start,
+      Territory end,
+      List<Unit> units,
+      @Nullable List<Territory> forced,
+      @Nullable Territory firstSelectedTerritory) {}
+
+  private record FilterKey(Route route, List<Unit> units, Map<Unit, Set<Unit>> dependents) {}
+
+  private static <K, V> Map<K, V> newLruMap() {
+    return new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+        return size() > MAX_ENTRIES;
+      }
+    };
+  }
+
+  /** Returns the route of the units between the territories, computing it if it isn't known. */
+  Optional<Route> getRoute(
+      final Territory start,
+      final Territory end,
+      final Collection<Unit> units,
+      @Nullable final List<Territory> forced,
+      @Nullable final Territory firstSelectedTerritory,
+      final Supplier<Optional<Route>> routeSupplier) {
+    final RouteKey key =
+        new RouteKey(
+            start,
+            end,
+            List.copyOf(units),
+            forced == null ? null : List.copyOf(forced),
+            firstSelectedTerritory);
+    return get(routes, key, routeSupplier);
+  }
+
+  /**
+   * Returns which of the units can move along the route, computing it if it isn't known.
+   *
+   * @param airTransportDependents the units each air transport of the move carries
+   */
+  FilterOperationResult getFilterResult(
+      final Route route,
+      final Collection<Unit> units,
+      final Map<Unit, Collection<Unit>> airTransportDependents,
+      final Supplier<FilterOperationResult> filterResultSupplier) {
+    final FilterKey key =
+        new FilterKey(
+            route,
+            List.copyOf(units),
+            airTransportDependents.entrySet().stream()
+                .collect(
+                    Collectors.toMap(Map.Entry::getKey, entry -> Set.copyOf(entry.getValue()))));
+    return get(filterResults, key, filterResultSupplier);
+  }
+
+  private <K, V> V get(final Map<K, V> cache, final K key, final Supplier<V> valueSupplier) {
+    final long startGeneration;
+    synchronized (this) {
+      final V value = cache.get(key);
+      if (value != null) {
+        return value;
+      }
+      startGeneration = generation;
+    }
+    final V value = valueSupplier.get();
+    synchronized (this) {
+      if (generation == startGeneration) {
+        cache.put(key, value);
+      }
+    }
+    return value;
+  }
+
+  synchronized void clear() {
+    routes.clear();
+    filterResults.clear();
+    generation++;
+  }
+}
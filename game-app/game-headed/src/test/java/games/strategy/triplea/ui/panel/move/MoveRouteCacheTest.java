@@ -0,0 +1,65 @@
+package games.strategy.triplea.ui.panel.move;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import games.strategy.engine.data.Route;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MoveRouteCacheTest {
+  @Mock private Territory start;
+  @Mock private Territory end;
+  @Mock private Unit unit;
+  @Mock private Unit otherUnit;
+
+  private final MoveRouteCache routeCache = new MoveRouteCache();
+  private final AtomicInteger routeSearches = new AtomicInteger();
+
+  private Optional<Route> getRoute(final List<Unit> units, final List<Territory> forced) {
+    return routeCache.getRoute(
+        start,
+        end,
+        units,
+        forced,
+        start,
+        () -> {
+          routeSearches.incrementAndGet();
+          return Optional.of(new Route(start, end));
+        });
+  }
+
+  @Test
+  void routesOfTheSameSelectionAreSearchedOnce() {
+    final Optional<Route> route = getRoute(List.of(unit), null);
+
+    assertThat(getRoute(List.of(unit), null), is(route));
+    assertThat(routeSearches.get(), is(1));
+  }
+
+  @Test
+  void routesOfOtherSelectionsAreSearchedAgain() {
+    getRoute(List.of(unit), null);
+    getRoute(List.of(unit, otherUnit), null);
+    getRoute(List.of(unit), List.of(end));
+
+    assertThat(routeSearches.get(), is(3));
+  }
+
+  @Test
+  void clearedRoutesAreSearchedAgain() {
+    getRoute(List.of(unit), null);
+    routeCache.clear();
+    getRoute(List.of(unit), null);
+
+    assertThat(routeSearches.get(), is(2));
+  }
+}
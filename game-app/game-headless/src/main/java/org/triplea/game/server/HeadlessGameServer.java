@@ -9,11 +9,13 @@ import games.strategy.engine.framework.GameDataManager;
 import games.strategy.engine.framework.GameRunner;
 import games.strategy.engine.framework.ServerGame;
 import games.strategy.engine.framework.map.file.system.loader.InstalledMapsListing;
+import games.strategy.engine.framework.save.game.SaveGameMetadata;
 import games.strategy.engine.framework.startup.ui.panels.main.game.selector.GameSelectorModel;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -57,6 +59,25 @@ public class HeadlessGameServer {
     return availableGames.getSortedGameList();
   }
 
+  /**
+   * Returns the names of the auto-saves of the games that are available on this server. Only the
+   * metadata of the auto-saves is read, auto-saves without metadata are always returned.
+   */
+  public List<String> getAvailableAutoSaves() {
+    return AutoSaveFileUtils.getAutoSavePaths().stream()
+        .filter(this::isSaveOfAvailableGame)
+        .map(file -> file.getFileName().toString())
+        .sorted()
+        .toList();
+  }
+
+  private boolean isSaveOfAvailableGame(final Path file) {
+    return SaveGameMetadata.read(file)
+        .map(SaveGameMetadata::gameName)
+        .map(availableGames::hasGame)
+        .orElse(true);
+  }
+
   public synchronized void setGameMapTo(final String gameName) {
     log.info("Requested to change map to: {}", gameName);
 
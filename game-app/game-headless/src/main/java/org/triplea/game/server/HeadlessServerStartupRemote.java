@@ -1,7 +1,6 @@
 package org.triplea.game.server;
 
 import com.google.common.base.Preconditions;
-import games.strategy.engine.framework.AutoSaveFileUtils;
 import games.strategy.engine.framework.message.PlayerListing;
 import games.strategy.engine.framework.startup.mc.IServerStartupRemote;
 import games.strategy.net.INode;
@@ -69,7 +68,7 @@ public class HeadlessServerStartupRemote implements IServerStartupRemote {
     // Copy available games collection into a serializable collection
     // so it can be sent over network.
     List<String> availableGames = new ArrayList<>(headlessGameServer.getAvailableGames());
-    availableGames.addAll(AutoSaveFileUtils.getAutoSaveFiles());
+    availableGames.addAll(headlessGameServer.getAvailableAutoSaves());
     return availableGames;
   }
 
@@ -0,0 +1,195 @@
+package org.triplea.io;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses gzip files that consist of several members, as written by {@link
+ * ParallelGzipOutputStream}, and single member gzip files alike.
+ *
+ * <p>{@link java.util.zip.GZIPInputStream} reads the following members too, but only if the
+ * underlying stream reports that more bytes are {@link InputStream#available() available}, which
+ * isn't reliable for network streams. This stream reads members until the underlying stream ends.
+ * Like {@link java.util.zip.GZIPInputStream}, it ignores trailing bytes that don't start with the
+ * gzip magic number.
+ */
+public final class MultiMemberGzipInputStream extends InputStream {
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int GZIP_MAGIC = 0x8b1f;
+  private static final int DEFLATE = 8;
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+
+  private final PushbackInputStream in;
+  private final Inflater inflater = new Inflater(true);
+  private final CRC32 crc = new CRC32();
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+  private final byte[] singleByte = new byte[1];
+  private boolean inMember;
+  private boolean ended;
+  private boolean closed;
+
+  /**
+   * Reads the header of the first member.
+   *
+   * @throws ZipException If the stream is not in gzip format.
+   * @throws EOFException If the stream is empty.
+   */
+  public MultiMemberGzipInputStream(final InputStream in) throws IOException {
+    checkNotNull(in);
+
+    this.in = new PushbackInputStream(in, BUFFER_SIZE);
+    final DataInputStream header = new DataInputStream(this.in);
+    final int first = header.read();
+    if (first == -1) {
+      throw new EOFException("Empty gzip stream");
+    }
+    if ((first | header.readUnsignedByte() << 8) != GZIP_MAGIC) {
+      throw new ZipException("Not in GZIP format");
+    }
+    readHeaderAfterMagic(header);
+  }
+
+  @Override
+  public int read() throws IOException {
+    return read(singleByte, 0, 1) == -1 ? -1 : singleByte[0] & 0xff;
+  }
+
+  @Override
+  public int read(final byte[] b, final int off, final int len) throws IOException {
+    checkNotNull(b);
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+    if (len == 0) {
+      return 0;
+    }
+
+    while (!ended) {
+      if (!inMember && !readHeader()) {
+        ended = true;
+        break;
+      }
+      final int length = inflate(b, off, len);
+      if (length > 0) {
+        crc.update(b, off, length);
+        return length;
+      }
+      if (inflater.finished()) {
+        in.unread(buffer, buffer.length - inflater.getRemaining(), inflater.getRemaining());
+        readTrailer();
+        inMember = false;
+      } else if (inflater.needsInput()) {
+        fill();
+      }
+    }
+    return -1;
+  }
+
+  private int inflate(final byte[] b, final int off, final int len) throws ZipException {
+    try {
+      return inflater.inflate(b, off, len);
+    } catch (final DataFormatException e) {
+      throw new ZipException(e.getMessage());
+    }
+  }
+
+  private void fill() throws IOException {
+    final int length = in.read(buffer, 0, buffer.length);
+    if (length == -1) {
+      throw new EOFException("Unexpected end of gzip stream");
+    }
+    // keep the unused input at the end of the buffer, so it can be pushed back after the member
+    System.arraycopy(buffer, 0, buffer, buffer.length - length, length);
+    inflater.setInput(buffer, buffer.length - length, length);
+  }
+
+  /**
+   * Returns false if the underlying stream ended before the header or the following bytes aren't a
+   * gzip member.
+   */
+  private boolean readHeader() throws IOException {
+    final int first = in.read();
+    final int second = first == -1 ? -1 : in.read();
+    if (second == -1 || (first | second << 8) != GZIP_MAGIC) {
+      return false;
+    }
+    readHeaderAfterMagic(new DataInputStream(in));
+    return true;
+  }
+
+  private void readHeaderAfterMagic(final DataInputStream header) throws IOException {
+    if (header.readUnsignedByte() != DEFLATE) {
+      throw new ZipException("Unsupported compression method");
+    }
+    final int flags = header.readUnsignedByte();
+    // modification time, extra flags and operating system
+    header.skipNBytes(6);
+    if ((flags & FEXTRA) != 0) {
+      header.skipNBytes(readUnsignedShort(header));
+    }
+    if ((flags & FNAME) != 0) {
+      skipString(header);
+    }
+    if ((flags & FCOMMENT) != 0) {
+      skipString(header);
+    }
+    if ((flags & FHCRC) != 0) {
+      header.skipNBytes(2);
+    }
+    inflater.reset();
+    crc.reset();
+    inMember = true;
+  }
+
+  /** Reads an unsigned short in the little endian byte order of gzip. */
+  private static int readUnsignedShort(final DataInputStream in) throws IOException {
+    return Short.toUnsignedInt(Short.reverseBytes(in.readShort()));
+  }
+
+  /** Reads an unsigned int in the little endian byte order of gzip. */
+  private static long readUnsignedInt(final DataInputStream in) throws IOException {
+    return Integer.toUnsignedLong(Integer.reverseBytes(in.readInt()));
+  }
+
+  private static void skipString(final DataInputStream header) throws IOException {
+    while (header.readUnsignedByte() != 0) {
+      // skip to the terminating zero
+    }
+  }
+
+  private void readTrailer() throws IOException {
+    final DataInputStream trailer = new DataInputStream(in);
+    final long expectedCrc = readUnsignedInt(trailer);
+    final long expectedSize = readUnsignedInt(trailer);
+    // the size is stored modulo 2^32
+    if (expectedCrc != crc.getValue()
+        || expectedSize != (inflater.getBytesWritten() & 0xffffffffL)) {
+      throw new ZipException("Corrupt GZIP trailer");
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    inflater.end();
+    in.close();
+  }
+}
@@ -0,0 +1,165 @@
+package org.triplea.io;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses the written bytes in gzip format using all processors. The bytes are split into
+ * blocks, which are compressed concurrently into separate gzip members and written in order. A
+ * sequence of gzip members is a valid gzip file, so the output can be read by gunzip or by {@link
+ * MultiMemberGzipInputStream}.
+ *
+ * <p>At most twice as many blocks as there are processors are compressed at once, so the memory
+ * use is bounded however much is written. Every {@link #flush()} ends the current block.
+ */
+public final class ParallelGzipOutputStream extends OutputStream {
+  static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+  private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+  private static final int MAX_PENDING_BLOCKS = 2 * PARALLELISM;
+
+  /** The compressor threads are only started when the first stream is written. */
+  private static final class Compressors {
+    private static final ExecutorService EXECUTOR =
+        Executors.newFixedThreadPool(
+            PARALLELISM,
+            runnable -> {
+              final Thread thread = new Thread(runnable, "Gzip compressor");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  private final OutputStream out;
+  private final int blockSize;
+  private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+  private byte[] block;
+  private int blockLength;
+  private boolean memberWritten;
+  private boolean closed;
+
+  public ParallelGzipOutputStream(final OutputStream out) {
+    this(out, DEFAULT_BLOCK_SIZE);
+  }
+
+  ParallelGzipOutputStream(final OutputStream out, final int blockSize) {
+    checkNotNull(out);
+    checkArgument(blockSize > 0, "block size must be positive");
+
+    this.out = out;
+    this.blockSize = blockSize;
+    block = new byte[blockSize];
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    ensureOpen();
+    block[blockLength++] = (byte) b;
+    if (blockLength == blockSize) {
+      compressBlock();
+    }
+  }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    checkNotNull(b);
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    ensureOpen();
+
+    int offset = off;
+    int remaining = len;
+    while (remaining > 0) {
+      final int length = Math.min(remaining, blockSize - blockLength);
+      System.arraycopy(b, offset, block, blockLength, length);
+      blockLength += length;
+      offset += length;
+      remaining -= length;
+      if (blockLength == blockSize) {
+        compressBlock();
+      }
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  private void compressBlock() throws IOException {
+    final byte[] data = blockLength == blockSize ? block : Arrays.copyOf(block, blockLength);
+    block = new byte[blockSize];
+    blockLength = 0;
+    pendingBlocks.add(Compressors.EXECUTOR.submit(() -> compress(data)));
+    while (pendingBlocks.size() > MAX_PENDING_BLOCKS) {
+      writeBlock(pendingBlocks.poll());
+    }
+  }
+
+  private static byte[] compress(final byte[] data) throws IOException {
+    final ByteArrayOutputStream member = new ByteArrayOutputStream(data.length / 2 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(member)) {
+      gzip.write(data);
+    }
+    return member.toByteArray();
+  }
+
+  private void writeBlock(final Future<byte[]> pendingBlock) throws IOException {
+    try {
+      out.write(pendingBlock.get());
+      memberWritten = true;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while compressing");
+    } catch (final ExecutionException e) {
+      throw new IOException("Failed to compress", e.getCause());
+    }
+  }
+
+  private void writePendingBlocks() throws IOException {
+    if (blockLength > 0) {
+      compressBlock();
+    }
+    while (!pendingBlocks.isEmpty()) {
+      writeBlock(pendingBlocks.poll());
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    writePendingBlocks();
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try (out) {
+      writePendingBlocks();
+      if (!memberWritten) {
+        // an empty gzip file still consists of one member
+        out.write(compress(new byte[0]));
+      }
+    } finally {
+      pendingBlocks.forEach(pendingBlock -> pendingBlock.cancel(false));
+    }
+  }
+}
@@ -16,7 +16,6 @@ import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 import lombok.experimental.UtilityClass;
@@ -37,7 +36,7 @@ public class CollectionUtils {
     checkNotNull(collection);
     checkNotNull(predicate);
 
-    return (int) collection.stream().filter(predicate).count();
+    return countMatches((Iterable<T>) collection, predicate);
   }
 
   /**
@@ -51,7 +50,34 @@ public class CollectionUtils {
     checkNotNull(it);
     checkNotNull(predicate);
 
-    return (int) StreamSupport.stream(it.spliterator(), false).filter(predicate).count();
+    int count = 0;
+    for (final T element : it) {
+      if (predicate.test(element)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns whether any element in the specified iterable matches the specified predicate. Unlike
+   * checking whether {@link #getMatches(Collection, Predicate)} is empty, no list is created and
+   * the elements after the first match aren't tested.
+   *
+   * @param it The iterable whose elements are to be matched.
+   * @param predicate The predicate with which to test each element.
+   * @return True if any element in the specified iterable matches the specified predicate.
+   */
+  public static <T> boolean anyMatch(final Iterable<T> it, final Predicate<T> predicate) {
+    checkNotNull(it);
+    checkNotNull(predicate);
+
+    for (final T element : it) {
+      if (predicate.test(element)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   /**
@@ -68,7 +94,13 @@ public class CollectionUtils {
     checkNotNull(collection);
     checkNotNull(predicate);
 
-    return collection.stream().filter(predicate).collect(toArrayList());
+    final List<T> matches = new ArrayList<>();
+    for (final T element : collection) {
+      if (predicate.test(element)) {
+        matches.add(element);
+      }
+    }
+    return matches;
   }
 
   /**
@@ -0,0 +1,111 @@
+package org.triplea.io;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+import org.junit.jupiter.api.Test;
+
+final class MultiMemberGzipInputStreamTest {
+  private static final int BLOCK_SIZE = 1000;
+
+  private static byte[] newData(final int length) {
+    final byte[] data = new byte[length];
+    final Random random = new Random(length);
+    for (int i = 0; i < length; i++) {
+      // compressible, but not trivially
+      data[i] = (byte) random.nextInt(16);
+    }
+    return data;
+  }
+
+  private static byte[] compress(final byte[] data) throws IOException {
+    return IoUtils.writeToMemory(
+        os -> {
+          try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(os, BLOCK_SIZE)) {
+            out.write(data);
+          }
+        });
+  }
+
+  private static byte[] decompress(final byte[] compressed) throws IOException {
+    return IoUtils.readFromMemory(
+        compressed,
+        is -> {
+          try (InputStream in = new MultiMemberGzipInputStream(is)) {
+            return in.readAllBytes();
+          }
+        });
+  }
+
+  @Test
+  void readsAllMembers() throws Exception {
+    for (final int length : new int[] {0, 1, BLOCK_SIZE, 100 * BLOCK_SIZE + 7}) {
+      final byte[] data = newData(length);
+
+      assertThat(decompress(compress(data)), is(data));
+    }
+  }
+
+  @Test
+  void readsSingleMember() throws Exception {
+    final byte[] data = newData(100 * BLOCK_SIZE);
+    final byte[] compressed =
+        IoUtils.writeToMemory(
+            os -> {
+              try (GZIPOutputStream out = new GZIPOutputStream(os)) {
+                out.write(data);
+              }
+            });
+
+    assertThat(decompress(compressed), is(data));
+  }
+
+  @Test
+  void readsAllMembersOfStreamsWithoutAvailableBytes() throws Exception {
+    final byte[] data = newData(10 * BLOCK_SIZE);
+    final InputStream unavailable =
+        new FilterInputStream(new ByteArrayInputStream(compress(data))) {
+          @Override
+          public int available() {
+            return 0;
+          }
+        };
+
+    try (InputStream in = new MultiMemberGzipInputStream(unavailable)) {
+      assertThat(in.readAllBytes(), is(data));
+    }
+  }
+
+  @Test
+  void ignoresTrailingBytesThatAreNotAMember() throws Exception {
+    final byte[] data = newData(10 * BLOCK_SIZE);
+    final byte[] compressed = compress(data);
+    for (final int trailingLength : new int[] {1, 2, 100}) {
+      final byte[] padded = Arrays.copyOf(compressed, compressed.length + trailingLength);
+
+      assertThat(decompress(padded), is(data));
+      try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(padded))) {
+        assertThat(in.readAllBytes(), is(data));
+      }
+    }
+  }
+
+  @Test
+  void rejectsCorruptStreams() throws Exception {
+    final byte[] compressed = compress(newData(BLOCK_SIZE));
+    compressed[compressed.length - 5]++;
+
+    assertThrows(ZipException.class, () -> decompress(compressed));
+    assertThrows(ZipException.class, () -> decompress(new byte[] {1, 2, 3}));
+  }
+}
@@ -0,0 +1,58 @@
+package org.triplea.io;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+final class ParallelGzipOutputStreamTest {
+  private static final int BLOCK_SIZE = 1000;
+
+  private static byte[] newData(final int length) {
+    final byte[] data = new byte[length];
+    final Random random = new Random(length);
+    for (int i = 0; i < length; i++) {
+      // compressible, but not trivially
+      data[i] = (byte) random.nextInt(16);
+    }
+    return data;
+  }
+
+  private static byte[] compress(final byte[] data) throws IOException {
+    return IoUtils.writeToMemory(
+        os -> {
+          try (ParallelGzipOutputStream out = new ParallelGzipOutputStream(os, BLOCK_SIZE)) {
+            // write unaligned chunks to cross the block boundaries
+            for (int offset = 0; offset < data.length; offset += 333) {
+              out.write(data, offset, Math.min(333, data.length - offset));
+            }
+          }
+        });
+  }
+
+  @Test
+  void compressedBytesAreReadByGzipInputStream() throws Exception {
+    for (final int length : new int[] {0, 1, BLOCK_SIZE, 10 * BLOCK_SIZE + 1}) {
+      final byte[] data = newData(length);
+
+      try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compress(data)))) {
+        assertThat(in.readAllBytes(), is(data));
+      }
+    }
+  }
+
+  @Test
+  void closedStreamCanNotBeWritten() throws Exception {
+    final ParallelGzipOutputStream out = new ParallelGzipOutputStream(new ByteArrayOutputStream());
+    out.close();
+
+    assertThrows(IOException.class, () -> out.write(1));
+  }
+}
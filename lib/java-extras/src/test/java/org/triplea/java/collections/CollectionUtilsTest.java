@@ -7,6 +7,7 @@ import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.triplea.java.collections.CollectionUtils.anyMatch;
 import static org.triplea.java.collections.CollectionUtils.countMatches;
 import static org.triplea.java.collections.CollectionUtils.getMatches;
 import static org.triplea.java.collections.CollectionUtils.getNMatches;
@@ -38,6 +39,35 @@ final class CollectionUtilsTest {
     }
   }
 
+  @Nested
+  final class AnyMatchTest {
+    @Test
+    void shouldReturnTrueWhenAnyElementMatches() {
+      assertThat(anyMatch(List.of(0), IS_ZERO), is(true));
+      assertThat(anyMatch(List.of(-1, 0, 1), IS_ZERO), is(true));
+    }
+
+    @Test
+    void shouldReturnFalseWhenNoElementMatches() {
+      assertThat(anyMatch(List.of(), ALWAYS), is(false));
+      assertThat(anyMatch(List.of(-1, 1), IS_ZERO), is(false));
+    }
+
+    @Test
+    void shouldNotTestElementsAfterFirstMatch() {
+      final List<Integer> tested = new ArrayList<>();
+
+      anyMatch(
+          List.of(-1, 0, 1),
+          it -> {
+            tested.add(it);
+            return it == 0;
+          });
+
+      assertThat(tested, is(List.of(-1, 0)));
+    }
+  }
+
   @Nested
   final class GetMatchesTest {
     @Test